@@ -0,0 +1,44 @@
+// 为 dist 中的文本资源预先生成 .br 和 .gz，后端按 Accept-Encoding 直接返回，运行时不再压缩。
+// 只在压缩后确实变小时才写文件，图片、字体等已压缩格式跳过。
+import { readdir, readFile, stat, writeFile } from 'node:fs/promises';
+import { join } from 'node:path';
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib';
+
+const DIST = new URL('../dist/', import.meta.url).pathname;
+const COMPRESSIBLE = /\.(js|mjs|css|html|svg|json|txt|xml|wasm)$/;
+const MIN_SIZE = 1024;
+
+async function* files(dir) {
+  for (const entry of await readdir(dir, { withFileTypes: true })) {
+    const path = join(dir, entry.name);
+    if (entry.isDirectory()) {
+      yield* files(path);
+    } else {
+      yield path;
+    }
+  }
+}
+
+let count = 0;
+for await (const file of files(DIST)) {
+  if (!COMPRESSIBLE.test(file) || (await stat(file)).size < MIN_SIZE) {
+    continue;
+  }
+  const source = await readFile(file);
+  const variants = {
+    '.br': brotliCompressSync(source, {
+      params: {
+        [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+        [constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+      },
+    }),
+    '.gz': gzipSync(source, { level: 9 }),
+  };
+  for (const [extension, compressed] of Object.entries(variants)) {
+    if (compressed.length < source.length) {
+      await writeFile(file + extension, compressed);
+    }
+  }
+  count++;
+}
+console.log(`precompressed ${count} files in ${DIST}`);
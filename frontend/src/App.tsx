@@ -49,6 +49,7 @@ function AppContent() {
             } 
           />
           <Route path="/posts/:id" element={<PostPage isAuthenticated={isAuthenticated} currentUserId={user?.id}/>} />
+          <Route path="/p/:id" element={<PostPage isAuthenticated={isAuthenticated} currentUserId={user?.id}/>} />
           <Route 
             path="/posts/:id/edit" 
             element={
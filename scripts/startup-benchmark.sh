@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# 启动耗时基准：从启动 JVM 到 GET /wang/shine1/posts 第一次返回 200 的时间。
+#
+# 用法: scripts/startup-benchmark.sh [plain|fast-start] [次数] [额外的应用参数...]
+#   plain       java -jar target/blog-*.jar（先执行 ./mvnw -DskipTests package）
+#   fast-start  解包后的 jar + AOT + AppCDS 归档（先执行 ./mvnw -Pfast-start -DskipTests package）
+# 例: scripts/startup-benchmark.sh fast-start 5 --spring.datasource.url=jdbc:mysql://localhost:3306/my_blog_db
+set -euo pipefail
+
+MODE=${1:-fast-start}
+RUNS=${2:-5}
+shift $(( $# > 2 ? 2 : $# ))
+PORT=${PORT:-8080}
+URL="http://localhost:${PORT}/wang/shine1/posts"
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+case "$MODE" in
+  plain)
+    JAR=$(ls "$ROOT"/target/blog-*.jar | grep -v original | head -1)
+    WORKDIR="$ROOT"
+    JAVA_ARGS=(-jar "$JAR")
+    ;;
+  fast-start)
+    WORKDIR="$ROOT/target/fast-start"
+    JAR=$(ls "$WORKDIR"/blog-*.jar | head -1)
+    [[ -f "$WORKDIR/application.jsa" ]] || { echo "缺少 $WORKDIR/application.jsa，请先执行 ./mvnw -Pfast-start package" >&2; exit 1; }
+    JAVA_ARGS=(-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR" --spring.profiles.active=fast-start)
+    ;;
+  *)
+    echo "未知模式: $MODE（可选 plain 或 fast-start）" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() { date +%s%3N; }
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  (cd "$WORKDIR" && exec java "${JAVA_ARGS[@]}" --server.port="$PORT" --logging.file.name= "$@" > /dev/null 2>&1) &
+  pid=$!
+  ready=""
+  while (( $(now_ms) - start < TIMEOUT_SECONDS * 1000 )); do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      break
+    fi
+    if [[ $(curl -s -o /dev/null -w '%{http_code}' "$URL" || true) == "200" ]]; then
+      ready=$(now_ms)
+      break
+    fi
+    sleep 0.05
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  if [[ -z "$ready" ]]; then
+    echo "第 $run 次: 应用未能在 ${TIMEOUT_SECONDS}s 内返回 200" >&2
+    exit 1
+  fi
+  elapsed=$(( ready - start ))
+  results+=("$elapsed")
+  echo "第 $run 次: ${elapsed} ms"
+done
+
+printf '%s\n' "${results[@]}" | sort -n | awk -v mode="$MODE" '
+  { v[NR] = $1; sum += $1 }
+  END { printf "%s: runs=%d min=%d ms median=%d ms avg=%d ms max=%d ms\n", mode, NR, v[1], v[int((NR + 1) / 2)], sum / NR, v[NR] }'
@@ -0,0 +1,11 @@
+package com.Away.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableAsync(proxyTargetClass = true)
+@EnableScheduling
+public class AsyncConfig {
+}
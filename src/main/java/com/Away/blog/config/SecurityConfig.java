@@ -52,10 +52,19 @@ public class SecurityConfig {
                         ).permitAll()
                         .requestMatchers(HttpMethod.POST, "/wang/shine1/auth/login").permitAll()
                         .requestMatchers(HttpMethod.GET, "/wang/shine1/posts/drafts").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/wang/shine1/posts/*/revisions/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/wang/shine1/posts/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/wang/shine1/feed.xml").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/sitemap.xml", "/sitemap-*.xml").permitAll()
                         .requestMatchers(HttpMethod.GET, "/wang/shine1/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/wang/shine1/tags/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/wang/shine1/authors/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/wang/shine1/media/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/wang/shine1/media/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/wang/shine1/register").permitAll()
+                        // 打包进来的前端页面和静态资源（WebConfig），接口之外的 GET 都公开
+                        .requestMatchers(request -> HttpMethod.GET.matches(request.getMethod())
+                                && !request.getRequestURI().startsWith("/wang/shine1/")).permitAll()
                         .anyRequest().authenticated()
                 )
                 .csrf(csrf -> csrf.disable())
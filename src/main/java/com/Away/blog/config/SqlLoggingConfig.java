@@ -0,0 +1,54 @@
+package com.Away.blog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL 不再逐条打印：超过 blog.logging.slow-query-ms 的语句由 Hibernate 记到 org.hibernate.SQL_SLOW，
+ * 另外每 blog.logging.sql-sample-rate 条抽一条记到 com.Away.blog.sql（0 表示不抽样，不注册任何钩子）。
+ */
+@Configuration
+public class SqlLoggingConfig {
+
+    @Value("${blog.logging.slow-query-ms:200}")
+    private long slowQueryMillis;
+
+    @Value("${blog.logging.sql-sample-rate:0}")
+    private int sampleRate;
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlLoggingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryMillis);
+            if (sampleRate > 0) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlLogger(sampleRate));
+            }
+        };
+    }
+
+    @Slf4j(topic = "com.Away.blog.sql")
+    static class SampledSqlLogger implements StatementInspector {
+
+        private final int sampleRate;
+        private final AtomicLong statements = new AtomicLong();
+
+        SampledSqlLogger(int sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (statements.getAndIncrement() % sampleRate == 0) {
+                log.info("sampled 1/{}: {}", sampleRate, sql);
+            }
+            return sql;
+        }
+    }
+}
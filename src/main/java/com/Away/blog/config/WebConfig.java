@@ -0,0 +1,67 @@
+package com.Away.blog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 打包进 jar 的前端（mvn -Pfrontend package 生成的 static/）。
+ * 构建时已经生成了 .br/.gz，由 EncodedResourceResolver 按 Accept-Encoding 选择，运行时不压缩。
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${blog.frontend.location:classpath:/static/}")
+    private String location;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Vite 输出的文件名带内容哈希，内容变了地址就变
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations(location + "assets/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+
+        // index.html 等固定文件名每次重新验证；不缓存解析结果，否则任意 SPA 路径都会在缓存里留一项
+        registry.addResourceHandler("/**")
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(false)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new SpaFallbackResourceResolver());
+    }
+
+    // 资源处理器不处理空路径，根路径转发给 index.html（同样走预压缩）
+    @Override
+    public void addViewControllers(ViewControllerRegistry registry) {
+        registry.addViewController("/").setViewName("forward:/index.html");
+    }
+
+    /**
+     * 前端路由（/posts/xxx、/login 等）没有对应文件，返回 index.html 交给 React Router。
+     * 接口路径和带扩展名的路径找不到时仍然 404。
+     */
+    private static class SpaFallbackResourceResolver extends PathResourceResolver {
+
+        @Override
+        protected Resource getResource(String resourcePath, Resource location) throws IOException {
+            Resource resource = super.getResource(resourcePath, location);
+            if (resource != null || resourcePath.startsWith("wang/")
+                    || resourcePath.substring(resourcePath.lastIndexOf('/') + 1).contains(".")) {
+                return resource;
+            }
+            return super.getResource("index.html", location);
+        }
+    }
+}
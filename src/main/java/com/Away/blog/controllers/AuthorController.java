@@ -0,0 +1,48 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.dtos.AuthorProfileDto;
+import com.Away.blog.domain.dtos.CursorPageDto;
+import com.Away.blog.domain.dtos.PostSummaryDto;
+import com.Away.blog.domain.entity.User;
+import com.Away.blog.mappers.PostMapper;
+import com.Away.blog.mappers.UserMapper;
+import com.Away.blog.services.AuthorService;
+import com.Away.blog.services.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping(path = "/wang/shine1/authors")
+@RequiredArgsConstructor
+public class AuthorController {
+
+    private final AuthorService authorService;
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final PostMapper postMapper;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AuthorProfileDto> getAuthor(@PathVariable UUID id) {
+        User author = userService.getUserById(id);
+        return ResponseEntity.ok(userMapper.toAuthorProfileDto(author, authorService.getAuthorStats(id)));
+    }
+
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getAuthorPosts(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        userService.getUserById(id);
+        CursorPage<PostSummary> page = authorService.getAuthorPosts(id, cursor, limit);
+        return ResponseEntity.ok(CursorPageDto.<PostSummaryDto>builder()
+                .items(page.getItems().stream().map(postMapper::toSummaryDto).toList())
+                .nextCursor(page.getNextCursor())
+                .build());
+    }
+}
@@ -1,6 +1,7 @@
 package com.Away.blog.controllers;
 
 import com.Away.blog.domain.CreateCommentRequest;
+import com.Away.blog.domain.FieldSelection;
 import com.Away.blog.domain.dtos.CommentDto;
 import com.Away.blog.domain.dtos.CreateCommentRequestDto;
 import com.Away.blog.domain.entity.Comment;
@@ -8,13 +9,19 @@ import com.Away.blog.domain.entity.Post;
 import com.Away.blog.domain.entity.User;
 import com.Away.blog.mappers.CommentMapper;
 import com.Away.blog.services.CommentService;
+import com.Away.blog.services.CommentStreamService;
 import com.Away.blog.services.PostService;
 import com.Away.blog.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.UUID;
@@ -29,27 +36,38 @@ public class CommentsController {
     private final PostService postService;
     private final CommentMapper commentMapper;
     private final UserService userService;
+    private final CommentStreamService commentStreamService;
 
     @GetMapping
-    public ResponseEntity<List<CommentDto>> findAllByPost(@PathVariable UUID postId) {
+    public ResponseEntity<MappingJacksonValue> findAllByPost(@PathVariable UUID postId,
+                                                             @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CommentDto.class);
         Post post = postService.getPost(postId);
         List<Comment> comments = commentService.findAllByPost(post);
         List<CommentDto> commentDtos = comments.stream()
-                .map(commentMapper::toDto)
+                .map(comment -> commentMapper.toDto(comment, selection))
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(commentDtos);
+        return ResponseEntity.ok(FieldFilters.filter(commentDtos, CommentDto.FILTER, selection));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamComments(@PathVariable UUID postId, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        commentStreamService.subscribe(postId, request, response);
     }
 
     @PostMapping
-    public ResponseEntity<CommentDto> createComment(@PathVariable UUID postId,
-                                                    @RequestBody CreateCommentRequestDto createCommentRequestDto,
-                                                    @RequestAttribute UUID userId) {
+    public ResponseEntity<MappingJacksonValue> createComment(@PathVariable UUID postId,
+                                                             @RequestBody CreateCommentRequestDto createCommentRequestDto,
+                                                             @RequestAttribute UUID userId,
+                                                             @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CommentDto.class);
         User user = userService.getUserById(userId);
         CreateCommentRequest createCommentRequest = commentMapper.toEntity(createCommentRequestDto);
         Comment comment = commentService.createComment(createCommentRequest, user, postId);
-        CommentDto createCommentDto = commentMapper.toDto(comment);
+        CommentDto createCommentDto = commentMapper.toDto(comment, selection);
 
-        return new ResponseEntity<>(createCommentDto, HttpStatus.CREATED);
+        return new ResponseEntity<>(FieldFilters.filter(createCommentDto, CommentDto.FILTER, selection), HttpStatus.CREATED);
     }
 
     @DeleteMapping("/{commentId}")
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.nio.file.AccessDeniedException;
 
@@ -30,9 +31,10 @@ public class ErrorController {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // 4xx 是调用方的问题，只在 debug 级别记录；认证和权限失败保留 warn 便于排查
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
-        log.error("Illegal argument: {}", e.getMessage());
+        log.debug("Illegal argument: {}", e.getMessage());
         ApiErrorResponse errorResponse = ApiErrorResponse.
                 builder()
                 .status(HttpStatus.BAD_REQUEST.value())
@@ -43,7 +45,7 @@ public class ErrorController {
 
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiErrorResponse> handleIllegalStateException(IllegalStateException e) {
-        log.error("Illegal state: {}", e.getMessage());
+        log.debug("Illegal state: {}", e.getMessage());
         ApiErrorResponse errorResponse = ApiErrorResponse.
                 builder()
                 .status(HttpStatus.CONFLICT.value())
@@ -54,7 +56,7 @@ public class ErrorController {
 
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiErrorResponse> handleBadCredentialsException(BadCredentialsException e) {
-        log.error("Bad credentials: {}", e.getMessage());
+        log.warn("Bad credentials: {}", e.getMessage());
         ApiErrorResponse errorResponse = ApiErrorResponse.
                 builder()
                 .status(HttpStatus.UNAUTHORIZED.value())
@@ -65,7 +67,18 @@ public class ErrorController {
 
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleEntityNotFoundException(EntityNotFoundException e) {
-        log.error("Entity not found: {}", e.getMessage());
+        log.debug("Entity not found: {}", e.getMessage());
+        ApiErrorResponse errorResponse = ApiErrorResponse.builder()
+                .status(HttpStatus.NOT_FOUND.value())
+                .message(e.getMessage())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    // 静态资源或前端文件不存在
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleNoResourceFoundException(NoResourceFoundException e) {
+        log.debug("No resource: {}", e.getResourcePath());
         ApiErrorResponse errorResponse = ApiErrorResponse.builder()
                 .status(HttpStatus.NOT_FOUND.value())
                 .message(e.getMessage())
@@ -75,7 +88,7 @@ public class ErrorController {
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiErrorResponse> handleAccessDeniedException(AccessDeniedException e) {
-        log.error("Access denied: {}", e.getMessage());
+        log.warn("Access denied: {}", e.getMessage());
         ApiErrorResponse errorResponse = ApiErrorResponse.builder()
                 .status(HttpStatus.FORBIDDEN.value())
                 .message(e.getMessage())
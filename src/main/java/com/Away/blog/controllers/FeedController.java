@@ -0,0 +1,32 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.services.FeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/wang/shine1")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final long MAX_AGE_SECONDS = 300;
+
+    private final FeedService feedService;
+
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> siteFeed(WebRequest request) {
+        return RenderedDocuments.serve(feedService.getSiteFeed(), ATOM, MAX_AGE_SECONDS, request);
+    }
+
+    @GetMapping("/categories/{id}/feed.xml")
+    public ResponseEntity<byte[]> categoryFeed(@PathVariable UUID id, WebRequest request) {
+        return RenderedDocuments.serve(feedService.getCategoryFeed(id), ATOM, MAX_AGE_SECONDS, request);
+    }
+}
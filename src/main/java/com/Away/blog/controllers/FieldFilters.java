@@ -0,0 +1,26 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.domain.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+final class FieldFilters {
+
+    private FieldFilters() {
+    }
+
+    /**
+     * 序列化时只输出 fields 选中的属性。filterId 对应 DTO 上的 @JsonFilter，嵌套的其他 DTO 不受影响。
+     */
+    static MappingJacksonValue filter(Object body, String filterId, FieldSelection fields) {
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+        if (!fields.isAll()) {
+            filters.addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields.getFields()));
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters);
+        return value;
+    }
+}
@@ -0,0 +1,155 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.domain.ByteRange;
+import com.Away.blog.domain.MediaFile;
+import com.Away.blog.domain.dtos.MediaDto;
+import com.Away.blog.mappers.MediaMapper;
+import com.Away.blog.services.ImageVariantService;
+import com.Away.blog.services.MediaService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalInt;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping(path = "/wang/shine1/media")
+@RequiredArgsConstructor
+public class MediaController {
+
+    // 文件名就是内容哈希，内容永远不会变
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // 衍生图还没生成时先返回原图，要求客户端每次重新验证，生成后就能换成衍生图
+    private static final String REVALIDATE = "no-cache";
+
+    // Tomcat 的 sendfile 约定：设置这些请求属性后由连接器在 socket 上直接发送文件区间 [start, end)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MediaService mediaService;
+    private final MediaMapper mediaMapper;
+    private final ImageVariantService imageVariantService;
+
+    /**
+     * 请求体就是文件原始字节（Content-Type 任意，类型由服务端识别），不走 multipart 解析。
+     * 新内容返回 201，已存在的内容返回 200，两者的地址相同。
+     */
+    @PostMapping
+    public ResponseEntity<MediaDto> upload(InputStream body, HttpServletRequest request) {
+        MediaFile media = mediaService.store(body, request.getContentLengthLong());
+        MediaDto mediaDto = mediaMapper.toDto(media);
+        if (!media.isCreated()) {
+            return ResponseEntity.ok(mediaDto);
+        }
+        return ResponseEntity.created(URI.create(mediaDto.getUrl())).body(mediaDto);
+    }
+
+    @GetMapping("/{hash}")
+    public void getMedia(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        MediaFile media = mediaService.getMedia(hash);
+        serve(media, "\"" + media.getHash() + "\"", IMMUTABLE, request, response);
+    }
+
+    @GetMapping("/{hash}/{width:\\d+}")
+    public void getVariant(@PathVariable String hash, @PathVariable int width,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!imageVariantService.isVariantWidth(width)) {
+            throw new EntityNotFoundException("Media variant not found: " + hash + "/" + width);
+        }
+        MediaFile variant = mediaService.findVariant(hash, width).orElse(null);
+        if (variant != null) {
+            serve(variant, "\"" + hash + "-" + width + "\"", IMMUTABLE, request, response);
+            return;
+        }
+        MediaFile original = mediaService.getMedia(hash);
+        // 不比原图窄的宽度永远不会生成衍生图，原图就是最终结果；
+        // 生成失败过的图片在冷却期内不再排队解码，也直接返回原图，过后可能重试所以不标记为不可变
+        OptionalInt imageWidth = imageVariantService.getImageWidth(hash);
+        boolean pending = imageWidth.isPresent() && width < imageWidth.getAsInt();
+        if (pending) {
+            imageVariantService.requestVariants(hash);
+        }
+        serve(original, "\"" + hash + "\"", pending ? REVALIDATE : IMMUTABLE, request, response);
+    }
+
+    private static void serve(MediaFile media, String etag, String cacheControl,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long size = media.getSize();
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        ByteRange range = ifRange == null || ifRange.equals(etag)
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size).orElse(null)
+                : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        long start = 0;
+        long length = size;
+        if (range != null) {
+            start = range.getStart();
+            length = range.getLength();
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.getStart() + "-" + range.getEnd() + "/" + size);
+        }
+        response.setContentType(media.getFormat().getContentType());
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        transfer(media.getFile(), start, length, request, response);
+    }
+
+    /**
+     * 优先交给 Tomcat sendfile，文件内容不经过 JVM；连接器不支持时（如 TLS）用
+     * FileChannel.transferTo 写出，同样不把整个文件读进堆。
+     */
+    private static void transfer(Path file, long start, long length,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
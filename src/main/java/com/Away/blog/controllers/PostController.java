@@ -1,27 +1,57 @@
 package com.Away.blog.controllers;
 
 import com.Away.blog.domain.CreatePostRequest;
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.FieldSelection;
+import com.Away.blog.domain.PatchPostRequest;
+import com.Away.blog.domain.PostCounts;
 import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
 import com.Away.blog.domain.UpdatePostRequest;
+import com.Away.blog.domain.dtos.ArchiveMonthDto;
 import com.Away.blog.domain.dtos.CreatePostRequestDto;
+import com.Away.blog.domain.dtos.CursorPageDto;
+import com.Away.blog.domain.dtos.PatchPostRequestDto;
+import com.Away.blog.domain.dtos.PostBatchItemDto;
 import com.Away.blog.domain.dtos.PostDto;
+import com.Away.blog.domain.dtos.PostQueryRequestDto;
+import com.Away.blog.domain.dtos.PostRevisionDto;
+import com.Away.blog.domain.dtos.PostSummaryDto;
+import com.Away.blog.domain.dtos.RelatedPostDto;
 import com.Away.blog.domain.dtos.UpdatePostRequestDto;
 import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.PostRevision;
 import com.Away.blog.domain.entity.User;
 import com.Away.blog.mappers.PostMapper;
+import com.Away.blog.mappers.PostRevisionMapper;
+import com.Away.blog.mappers.RelatedPostMapper;
 import com.Away.blog.security.BlogUserDetails;
+import com.Away.blog.services.PostArchiveService;
+import com.Away.blog.services.PostRevisionService;
 import com.Away.blog.services.PostService;
+import com.Away.blog.services.RelatedPostService;
 import com.Away.blog.services.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @CrossOrigin(origins = "*")
@@ -33,22 +63,95 @@ public class PostController {
     private final PostService postService;
     private final PostMapper postMapper;
     private final UserService userService;
+    private final RelatedPostService relatedPostService;
+    private final RelatedPostMapper relatedPostMapper;
+    private final PostRevisionService postRevisionService;
+    private final PostRevisionMapper postRevisionMapper;
+    private final PostArchiveService postArchiveService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
+    /**
+     * fields=id,title 这样的参数只返回选中的字段，同时只查询对应的列、只加载选中的关联。
+     */
     @GetMapping
-    public ResponseEntity<List<PostDto>> getAllPosts(
+    public ResponseEntity<MappingJacksonValue> getAllPosts(
             @RequestParam(required = false) UUID categoryId,
-            @RequestParam(required = false) UUID tagId) {
-        List<Post> posts = postService.getAllPosts(categoryId, tagId);
-        List<PostDto> postDto = posts.stream().map(postMapper::toDto).toList();
-        return ResponseEntity.ok(postDto);
+            @RequestParam(required = false) UUID tagId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, PostDto.class);
+        List<Post> posts = postService.getAllPosts(categoryId, tagId, selection);
+        List<PostDto> postDto = posts.stream().map(post -> postMapper.toDto(post, selection)).toList();
+        return ResponseEntity.ok(FieldFilters.filter(postDto, PostDto.FILTER, selection));
+    }
+
+    /**
+     * 按 id 批量取文章（收藏、相关文章等），代替逐篇请求 /posts/{id}。
+     * 按请求顺序返回，不存在或已删除的 id 返回 found=false。
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MappingJacksonValue> getPostsByIds(
+            @RequestParam List<UUID> ids,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, PostDto.class);
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        Map<UUID, Post> posts = postService.getPosts(requested);
+        PostCounts counts = selection.includes("category") || selection.includes("tags")
+                ? postService.getPublishedPostCounts(posts.values()) : PostCounts.EMPTY;
+        List<PostBatchItemDto> items = requested.stream()
+                .map(id -> PostBatchItemDto.builder()
+                        .id(id)
+                        .found(posts.containsKey(id))
+                        .post(posts.containsKey(id) ? postMapper.toDto(posts.get(id), selection, counts) : null)
+                        .build())
+                .toList();
+        return ResponseEntity.ok(FieldFilters.filter(items, PostDto.FILTER, selection));
+    }
+
+    @GetMapping(path = "/query")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> queryPosts(@Valid PostQueryRequestDto postQueryRequestDto) {
+        CursorPage<PostSummary> page = postService.queryPosts(postMapper.toPostQuery(postQueryRequestDto));
+        return ResponseEntity.ok(CursorPageDto.<PostSummaryDto>builder()
+                .items(page.getItems().stream().map(postMapper::toSummaryDto).toList())
+                .nextCursor(page.getNextCursor())
+                .build());
+    }
+
+    @GetMapping(path = "/archive")
+    public ResponseEntity<List<ArchiveMonthDto>> getArchiveMonths() {
+        List<ArchiveMonthDto> months = postArchiveService.getArchiveMonths().stream()
+                .map(postMapper::toArchiveMonthDto)
+                .toList();
+        return ResponseEntity.ok(months);
+    }
+
+    @GetMapping(path = "/archive/{month}")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getArchivePosts(
+            @PathVariable String month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("month must be yyyy-MM");
+        }
+        CursorPage<PostSummary> page = postArchiveService.getArchivePosts(yearMonth, cursor, limit);
+        return ResponseEntity.ok(CursorPageDto.<PostSummaryDto>builder()
+                .items(page.getItems().stream().map(postMapper::toSummaryDto).toList())
+                .nextCursor(page.getNextCursor())
+                .build());
     }
 
     @GetMapping(path = "/drafts")
-    public ResponseEntity<List<PostDto>> getDrafts(@RequestAttribute UUID userId) {
+    public ResponseEntity<MappingJacksonValue> getDrafts(
+            @RequestAttribute UUID userId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, PostDto.class);
         User user = userService.getUserById(userId);
-        List<Post> posts = postService.getDrafts(user);
-        List<PostDto> postDto = posts.stream().map(postMapper::toDto).toList();
-        return ResponseEntity.ok(postDto);
+        List<Post> posts = postService.getDrafts(user, selection);
+        List<PostDto> postDto = posts.stream().map(post -> postMapper.toDto(post, selection)).toList();
+        return ResponseEntity.ok(FieldFilters.filter(postDto, PostDto.FILTER, selection));
     }
 
     @PostMapping
@@ -72,13 +175,80 @@ public class PostController {
         return ResponseEntity.ok(postMapper.toDto(updatePost));
     }
 
+    /**
+     * JSON Merge Patch（RFC 7396）：只提交变化的字段，编辑器自动保存时不必每次上传全文。
+     * 请求头带 Prefer: return=minimal 时返回 204，不回传文章内容。
+     */
+    @PatchMapping(path = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PostDto> patchPost(
+            @PathVariable UUID id,
+            @RequestBody JsonNode mergePatch,
+            @RequestHeader(name = "Prefer", required = false) String prefer
+    ) throws AccessDeniedException {
+        if (!mergePatch.isObject()) {
+            throw new IllegalArgumentException("merge patch must be a JSON object");
+        }
+        mergePatch.fields().forEachRemaining(field -> {
+            if (field.getValue().isNull()) {
+                throw new IllegalArgumentException(field.getKey() + " can not be removed");
+            }
+        });
+        PatchPostRequestDto patchPostRequestDto;
+        try {
+            patchPostRequestDto = objectMapper.treeToValue(mergePatch, PatchPostRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid merge patch: " + e.getOriginalMessage());
+        }
+        validator.validate(patchPostRequestDto).stream().findFirst().ifPresent(violation -> {
+            throw new IllegalArgumentException(violation.getMessage());
+        });
+        PatchPostRequest patchPostRequest = postMapper.patchPostRequest(patchPostRequestDto);
+        Post patchedPost = postService.patchPost(id, patchPostRequest);
+        if (prefer != null && prefer.contains("return=minimal")) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(postMapper.toDto(patchedPost));
+    }
+
     @GetMapping(path = "/{id}")
-    public ResponseEntity<PostDto> getPost(
-            @PathVariable UUID id
+    public ResponseEntity<MappingJacksonValue> getPost(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields
     ) {
+        FieldSelection selection = FieldSelection.parse(fields, PostDto.class);
         Post post = postService.getPost(id);
-        PostDto postDto = postMapper.toDto(post);
-        return ResponseEntity.ok(postDto);
+        PostDto postDto = postMapper.toDto(post, selection);
+        return ResponseEntity.ok(FieldFilters.filter(postDto, PostDto.FILTER, selection));
+    }
+
+    @GetMapping(path = "/{id}/related")
+    public ResponseEntity<List<RelatedPostDto>> getRelatedPosts(@PathVariable UUID id) {
+        List<RelatedPostDto> related = relatedPostService.getRelatedPosts(id).stream()
+                .map(relatedPostMapper::toDto)
+                .toList();
+        return ResponseEntity.ok(related);
+    }
+
+    @GetMapping(path = "/{id}/revisions")
+    public ResponseEntity<List<PostRevisionDto>> getRevisions(
+            @PathVariable UUID id,
+            @RequestAttribute UUID userId
+    ) throws AccessDeniedException {
+        List<PostRevisionDto> revisions = postRevisionService.listRevisions(id, userId).stream()
+                .map(postRevisionMapper::toDto)
+                .toList();
+        return ResponseEntity.ok(revisions);
+    }
+
+    @GetMapping(path = "/{id}/revisions/{revision}")
+    public ResponseEntity<PostRevisionDto> getRevision(
+            @PathVariable UUID id,
+            @PathVariable int revision,
+            @RequestAttribute UUID userId
+    ) throws AccessDeniedException {
+        PostRevision postRevision = postRevisionService.getRevision(id, revision, userId);
+        String content = postRevisionService.reconstructContent(postRevision);
+        return ResponseEntity.ok(postRevisionMapper.toDto(postRevision, content));
     }
 
     @DeleteMapping(path = "/{id}")
@@ -0,0 +1,29 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.services.PostSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+// 预渲染的文章页面，挂在站点根路径下与前端路由 /p/:id 对应
+@RestController
+@RequiredArgsConstructor
+public class PostSnapshotController {
+
+    private static final MediaType HTML = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+    private static final long MAX_AGE_SECONDS = 60;
+
+    private final PostSnapshotService postSnapshotService;
+
+    @GetMapping("/p/{id}")
+    public ResponseEntity<byte[]> getSnapshot(@PathVariable UUID id, WebRequest request) {
+        return RenderedDocuments.serve(postSnapshotService.getSnapshot(id), HTML, MAX_AGE_SECONDS, request);
+    }
+}
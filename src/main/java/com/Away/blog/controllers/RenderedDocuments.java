@@ -0,0 +1,69 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.domain.RenderedDocument;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+final class RenderedDocuments {
+
+    private RenderedDocuments() {
+    }
+
+    /**
+     * 根据 Accept-Encoding 选择原始或 gzip 字节，按所选版本的 ETag 处理条件请求（返回 304），否则直接写出缓存的字节。
+     */
+    static ResponseEntity<byte[]> serve(RenderedDocument document, MediaType contentType,
+                                        long maxAgeSeconds, WebRequest request) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? document.getGzipEtag() : document.getEtag();
+        if (request.checkNotModified(etag, document.getLastModified().toEpochMilli())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .cacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.getGzipBody());
+        }
+        return response.body(document.getBody());
+    }
+
+    /**
+     * gzip（或没有单独列出 gzip 时的 *）的 q 值大于 0 才算接受，gzip;q=0 表示拒绝。
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].strip();
+                if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).strip());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : wildcard > 0;
+    }
+}
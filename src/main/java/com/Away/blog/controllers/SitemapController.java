@@ -0,0 +1,43 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.domain.SitemapShard;
+import com.Away.blog.services.SitemapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// sitemap 只能包含其所在路径下的 URL，所以挂在站点根路径而不是 /wang/shine1 下
+@RestController
+@RequiredArgsConstructor
+public class SitemapController {
+
+    private static final long MAX_AGE_SECONDS = 3600;
+
+    private final SitemapService sitemapService;
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemapIndex(WebRequest request) {
+        return RenderedDocuments.serve(sitemapService.getIndex(), MediaType.APPLICATION_XML, MAX_AGE_SECONDS, request);
+    }
+
+    @GetMapping("/sitemap-{number:\\d+}.xml")
+    public ResponseEntity<Resource> sitemapShard(@PathVariable int number, WebRequest request) {
+        SitemapShard shard = sitemapService.getShard(number);
+        if (request.checkNotModified(shard.getEtag(), shard.getLastModified().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .cacheControl(CacheControl.maxAge(MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic())
+                .body(new FileSystemResource(shard.getFile()));
+    }
+}
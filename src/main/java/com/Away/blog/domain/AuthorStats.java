@@ -0,0 +1,7 @@
+package com.Away.blog.domain;
+
+public interface AuthorStats {
+    long getPostCount();
+    long getTotalReadingTime();
+    long getCommentCount();
+}
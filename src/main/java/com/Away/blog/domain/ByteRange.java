@@ -0,0 +1,70 @@
+package com.Away.blog.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Range 请求头中的单个字节区间，start 和 end 都包含在内。
+ */
+@Getter
+@RequiredArgsConstructor
+public class ByteRange {
+
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final Pattern DIGITS = Pattern.compile("\\d*");
+
+    private final long start;
+    private final long end;
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * 解析 bytes=a-b、bytes=a-、bytes=-n 三种形式。没有 Range、格式不对或是多段区间时返回空，
+     * 按 RFC 9110 忽略 Range 返回整个文件；起点超出文件长度时返回 UNSATISFIABLE（416）。
+     */
+    public static Optional<ByteRange> parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return Optional.empty();
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return Optional.empty();
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        // 只接受十进制数字，"--1"、"+5-" 这类 Long.parseLong 能解析的写法也按格式错误忽略
+        if (!DIGITS.matcher(first).matches() || !DIGITS.matcher(last).matches()) {
+            return Optional.empty();
+        }
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return Optional.empty();
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return Optional.of(UNSATISFIABLE);
+                }
+                return Optional.of(new ByteRange(Math.max(0, size - suffix), size - 1));
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size) {
+                return Optional.of(UNSATISFIABLE);
+            }
+            if (end < start) {
+                return Optional.empty();
+            }
+            return Optional.of(new ByteRange(start, end));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.Away.blog.domain;
+
+public enum ContentFormat {
+    HTML,
+    MARKDOWN
+}
@@ -26,5 +26,7 @@ public class CreatePostRequest {
     @Builder.Default
     private Set<UUID> tagIds = new HashSet<>();
 
+    private ContentFormat format;
+
     private PostStatus status;
 }
@@ -0,0 +1,14 @@
+package com.Away.blog.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class CursorPage<T> {
+    private final List<T> items;
+    // 没有下一页时为 null
+    private final String nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.Away.blog.domain;
+
+import com.Away.blog.domain.events.CommentChangedEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 写入发件箱的领域事件类型，payload 为对应的变更事件（JSON）。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DomainEventType {
+    // 变为 PUBLISHED（包括直接以发布状态创建）
+    POST_PUBLISHED(PostChangedEvent.class),
+    // 其余的创建和修改，包括草稿、撤回发布
+    POST_UPDATED(PostChangedEvent.class),
+    POST_DELETED(PostChangedEvent.class),
+    COMMENT_ADDED(CommentChangedEvent.class),
+    COMMENT_DELETED(CommentChangedEvent.class);
+
+    private final Class<?> payloadType;
+
+    public static DomainEventType of(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            return POST_DELETED;
+        }
+        if (event.getStatus() == PostStatus.PUBLISHED && event.getPreviousStatus() != PostStatus.PUBLISHED) {
+            return POST_PUBLISHED;
+        }
+        return POST_UPDATED;
+    }
+
+    public static DomainEventType of(CommentChangedEvent event) {
+        return event.getType() == CommentChangedEvent.Type.ADDED ? COMMENT_ADDED : COMMENT_DELETED;
+    }
+}
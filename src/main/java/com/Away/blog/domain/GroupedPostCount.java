@@ -0,0 +1,8 @@
+package com.Away.blog.domain;
+
+import java.util.UUID;
+
+public interface GroupedPostCount {
+    UUID getGroupId();
+    Long getPostCount();
+}
@@ -0,0 +1,20 @@
+package com.Away.blog.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 内容寻址存储中的一个文件，文件名就是内容的 SHA-256。
+ * created 为 false 表示上传的内容已经存在，本次上传被去重。
+ */
+@Getter
+@Builder
+public class MediaFile {
+    private final String hash;
+    private final MediaFormat format;
+    private final long size;
+    private final Path file;
+    private final boolean created;
+}
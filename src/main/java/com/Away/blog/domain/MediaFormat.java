@@ -0,0 +1,67 @@
+package com.Away.blog.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 允许上传的媒体格式。类型由文件头的魔数判断，不信任客户端声明的 Content-Type，
+ * 这样存储里不会出现能被浏览器当成 HTML/SVG 执行的文件。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MediaFormat {
+    PNG("image/png"),
+    JPEG("image/jpeg"),
+    GIF("image/gif"),
+    WEBP("image/webp"),
+    MP4("video/mp4"),
+    WEBM("video/webm"),
+    PDF("application/pdf");
+
+    // 判断所有格式需要的最大文件头长度
+    public static final int SNIFF_LENGTH = 12;
+
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] WEBM_MAGIC = {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3};
+
+    private final String contentType;
+
+    public static Optional<MediaFormat> sniff(byte[] head) {
+        if (startsWith(head, 0, PNG_MAGIC)) {
+            return Optional.of(PNG);
+        }
+        if (startsWith(head, 0, JPEG_MAGIC)) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(head, 0, ascii("GIF87a")) || startsWith(head, 0, ascii("GIF89a"))) {
+            return Optional.of(GIF);
+        }
+        if (startsWith(head, 0, ascii("RIFF")) && startsWith(head, 8, ascii("WEBP"))) {
+            return Optional.of(WEBP);
+        }
+        if (startsWith(head, 4, ascii("ftyp"))) {
+            return Optional.of(MP4);
+        }
+        if (startsWith(head, 0, WEBM_MAGIC)) {
+            return Optional.of(WEBM);
+        }
+        if (startsWith(head, 0, ascii("%PDF-"))) {
+            return Optional.of(PDF);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] head, int offset, byte[] magic) {
+        return head.length >= offset + magic.length
+                && Arrays.equals(head, offset, offset + magic.length, magic, 0, magic.length);
+    }
+
+    private static byte[] ascii(String magic) {
+        return magic.getBytes(StandardCharsets.US_ASCII);
+    }
+}
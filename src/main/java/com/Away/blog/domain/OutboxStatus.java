@@ -0,0 +1,8 @@
+package com.Away.blog.domain;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    // 重试次数用完，不再投递，留给人工处理
+    FAILED
+}
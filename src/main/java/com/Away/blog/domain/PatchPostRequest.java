@@ -0,0 +1,30 @@
+package com.Away.blog.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JSON Merge Patch 的领域表示：为 null 的字段表示请求中未出现，保持原值不变。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchPostRequest {
+    private String title;
+
+    private String content;
+
+    private UUID categoryId;
+
+    private Set<UUID> tagIds;
+
+    private ContentFormat format;
+
+    private PostStatus status;
+}
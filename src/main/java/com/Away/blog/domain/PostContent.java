@@ -0,0 +1,126 @@
+package com.Away.blog.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文章正文的存储形式。第一个字节是格式头：PLAIN 后接 UTF-8 原文，DEFLATE 后接 4 字节原文长度和压缩数据。
+ * 从数据库读出时只保存原始字节，第一次读取正文时才解压；未修改的正文写回时直接复用原始字节。
+ * 不可变，Hibernate 按引用判断是否修改，脏检查不会触发解压。
+ */
+@Immutable
+public final class PostContent {
+
+    private static final byte FORMAT_PLAIN = 0;
+    private static final byte FORMAT_DEFLATE = 1;
+    private static final int DEFLATE_HEADER = 5;
+
+    private final byte[] stored;
+    private volatile String text;
+
+    private PostContent(String text, byte[] stored) {
+        this.text = text;
+        this.stored = stored;
+    }
+
+    public static PostContent of(String text) {
+        return new PostContent(text, null);
+    }
+
+    public static PostContent fromStored(byte[] stored) {
+        if (stored.length == 0 || (stored[0] != FORMAT_PLAIN && stored[0] != FORMAT_DEFLATE)) {
+            throw new IllegalStateException("未知的正文存储格式");
+        }
+        return new PostContent(null, stored);
+    }
+
+    public String text() {
+        String value = text;
+        if (value == null) {
+            value = decode(stored);
+            text = value;
+        }
+        return value;
+    }
+
+    public byte[] encode(int compressionThreshold) {
+        if (stored != null) {
+            return stored;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= compressionThreshold) {
+            byte[] compressed = deflate(raw);
+            // 压缩收益不足时按原文存储，避免读取时白白解压
+            if (compressed.length + DEFLATE_HEADER < raw.length) {
+                return ByteBuffer.allocate(DEFLATE_HEADER + compressed.length)
+                        .put(FORMAT_DEFLATE)
+                        .putInt(raw.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+        byte[] plain = new byte[raw.length + 1];
+        plain[0] = FORMAT_PLAIN;
+        System.arraycopy(raw, 0, plain, 1, raw.length);
+        return plain;
+    }
+
+    public boolean isCompressed() {
+        return stored != null && stored[0] == FORMAT_DEFLATE;
+    }
+
+    private static String decode(byte[] stored) {
+        if (stored[0] == FORMAT_PLAIN) {
+            return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+        }
+        int length = ByteBuffer.wrap(stored, 1, 4).getInt();
+        byte[] raw = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, DEFLATE_HEADER, stored.length - DEFLATE_HEADER);
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("正文数据已损坏");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("正文数据已损坏", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return stored != null ? "PostContent[" + stored.length + " bytes stored]" : "PostContent[" + text.length() + " chars]";
+    }
+}
@@ -0,0 +1,26 @@
+package com.Away.blog.domain;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 一批文章涉及的分类和标签各有多少篇已发布文章，由分组查询一次取出，映射时不必加载它们的 posts 集合。
+ */
+@RequiredArgsConstructor
+public class PostCounts {
+
+    public static final PostCounts EMPTY = new PostCounts(Map.of(), Map.of());
+
+    private final Map<UUID, Long> byCategory;
+    private final Map<UUID, Long> byTag;
+
+    public long ofCategory(UUID categoryId) {
+        return byCategory.getOrDefault(categoryId, 0L);
+    }
+
+    public int ofTag(UUID tagId) {
+        return byTag.getOrDefault(tagId, 0L).intValue();
+    }
+}
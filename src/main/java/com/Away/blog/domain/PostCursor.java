@@ -0,0 +1,49 @@
+package com.Away.blog.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 按 (排序键, id) 翻页的游标：下一页从严格排在该位置之后的文章开始。
+ * 编码里带着排序方式和方向，换了排序再传旧游标会被拒绝；对外是不透明的 base64url 字符串。
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PostCursor {
+    private final PostSort sort;
+    private final Sort.Direction direction;
+    private final Comparable<?> key;
+    private final UUID id;
+
+    public static PostCursor after(PostSort sort, Sort.Direction direction, PostSummary post) {
+        return new PostCursor(sort, direction, sort.keyOf(post), post.getId());
+    }
+
+    public String encode() {
+        String raw = sort + "|" + direction + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 游标为空表示第一页
+    public static PostCursor decode(String cursor, PostSort sort, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length == 4 && parts[0].equals(sort.name()) && parts[1].equals(direction.name())) {
+                return new PostCursor(sort, direction, sort.parseKey(parts[2]), UUID.fromString(parts[3]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // 统一按无效游标处理
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,37 @@
+package com.Away.blog.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 已发布文章的组合查询条件，为空的条件不参与过滤。createdFrom 含、createdTo 不含。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostQuery {
+    private Set<UUID> categoryIds;
+    private Set<UUID> tagIds;
+    @Builder.Default
+    private TagMatch tagMatch = TagMatch.ANY;
+    private UUID authorId;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private Integer minReadingTime;
+    private Integer maxReadingTime;
+    @Builder.Default
+    private PostSort sort = PostSort.DATE;
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.DESC;
+    private String cursor;
+    @Builder.Default
+    private int limit = 20;
+}
@@ -0,0 +1,12 @@
+package com.Away.blog.domain;
+
+import java.time.LocalDateTime;
+
+public interface PostRevisionSummary {
+    Integer getRevision();
+    RevisionKind getKind();
+    String getTitle();
+    Integer getContentLength();
+    Integer getStoredBytes();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,9 @@
+package com.Away.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface PostSitemapEntry {
+    UUID getId();
+    LocalDateTime getUpdatedAt();
+}
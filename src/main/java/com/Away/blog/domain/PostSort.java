@@ -0,0 +1,36 @@
+package com.Away.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * 文章列表的排序键。每种排序都以 id 作为次序，保证 (排序键, id) 唯一，可以做游标翻页。
+ */
+public enum PostSort {
+    DATE("createdAt", PostSummary::getCreatedAt, LocalDateTime::parse),
+    POPULARITY("commentCount", PostSummary::getCommentCount, Integer::valueOf),
+    READING_TIME("readingTime", PostSummary::getReadingTime, Integer::valueOf);
+
+    private final String attribute;
+    private final Function<PostSummary, Comparable<?>> key;
+    private final Function<String, Comparable<?>> parser;
+
+    PostSort(String attribute, Function<PostSummary, Comparable<?>> key, Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.key = key;
+        this.parser = parser;
+    }
+
+    // Post 实体上对应的属性名
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Comparable<?> keyOf(PostSummary post) {
+        return key.apply(post);
+    }
+
+    public Comparable<?> parseKey(String value) {
+        return parser.apply(value);
+    }
+}
@@ -2,5 +2,7 @@ package com.Away.blog.domain;
 
 public enum PostStatus {
     DRAFT,
-    PUBLISHED
+    PUBLISHED,
+    // 已软删除，等待后台清理评论等关联数据后物理删除；不能通过接口直接设置
+    DELETED
 }
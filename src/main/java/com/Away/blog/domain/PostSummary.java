@@ -0,0 +1,16 @@
+package com.Away.blog.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface PostSummary {
+    UUID getId();
+    String getTitle();
+    String getExcerpt();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getReadingTime();
+    Integer getCommentCount();
+    String getAuthorName();
+    String getCategoryName();
+}
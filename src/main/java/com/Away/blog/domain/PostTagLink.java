@@ -0,0 +1,9 @@
+package com.Away.blog.domain;
+
+import java.util.UUID;
+
+public interface PostTagLink {
+    UUID getPostId();
+    UUID getCategoryId();
+    UUID getTagId();
+}
@@ -0,0 +1,18 @@
+package com.Away.blog.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 内容管线的产物：净化后的 HTML、纯文本摘要、JSON 格式的目录以及字数，写入文章的派生列。
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RenderedContent {
+    private final String html;
+    private final String excerpt;
+    private final String toc;
+    private final int wordCount;
+}
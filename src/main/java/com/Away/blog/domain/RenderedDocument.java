@@ -0,0 +1,47 @@
+package com.Away.blog.domain;
+
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 已渲染好的响应体，连同预先压缩的 gzip 版本和校验信息一起缓存，命中时不再做任何序列化或压缩。
+ */
+@Getter
+public class RenderedDocument {
+
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final String etag;
+    // gzip 版本是另一份字节，必须用不同的强校验值
+    private final String gzipEtag;
+    private final Instant lastModified;
+
+    private RenderedDocument(byte[] body, Instant lastModified) {
+        this.body = body;
+        this.gzipBody = gzip(body);
+        String digest = DigestUtils.md5DigestAsHex(body);
+        this.etag = "\"" + digest + "\"";
+        this.gzipEtag = "\"" + digest + "-gz\"";
+        this.lastModified = lastModified;
+    }
+
+    public static RenderedDocument of(byte[] body, Instant lastModified) {
+        return new RenderedDocument(body, lastModified);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,25 @@
+package com.Away.blog.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 一个 sitemap 分片：按 id 顺序覆盖 [fromId, toId) 区间内的已发布文章，写在本地磁盘上。
+ * fromId 为 null 表示从最小 id 开始，toId 为 null 表示直到最后。
+ */
+@Getter
+@Builder(toBuilder = true)
+public class SitemapShard {
+    private final int number;
+    private final UUID fromId;
+    private final UUID toId;
+    private final int urlCount;
+    // 文件内容的 MD5；lastModified 是内容最近一次变化的时间，不随文章被移出而回退
+    private final String etag;
+    private final Instant lastModified;
+    private final Path file;
+}
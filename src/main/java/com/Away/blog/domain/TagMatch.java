@@ -0,0 +1,8 @@
+package com.Away.blog.domain;
+
+public enum TagMatch {
+    // 带有任意一个指定标签
+    ANY,
+    // 带有全部指定标签
+    ALL
+}
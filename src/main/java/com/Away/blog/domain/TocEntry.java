@@ -0,0 +1,14 @@
+package com.Away.blog.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TocEntry {
+    private int level;
+    private String id;
+    private String text;
+}
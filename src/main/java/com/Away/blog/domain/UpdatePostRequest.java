@@ -29,5 +29,7 @@ public class UpdatePostRequest {
     @Builder.Default
     private Set<UUID> tagIds = new HashSet<>();
 
+    private ContentFormat format;
+
     private PostStatus status;
 }
@@ -0,0 +1,20 @@
+package com.Away.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuthorProfileDto {
+    private UUID id;
+    private String name;
+    private long postCount;
+    private long totalReadingTime;
+    private long commentCount;
+}
@@ -1,20 +1,26 @@
 package com.Away.blog.domain.dtos;
 
 import com.Away.blog.domain.entity.User;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonFilter(CommentDto.FILTER)
 public class CommentDto {
+    public static final String FILTER = "commentFields";
+
     private UUID id;
     private PostDto post;
     private AuthorDto author;
     private String content;
+    private LocalDateTime createdAt;
 }
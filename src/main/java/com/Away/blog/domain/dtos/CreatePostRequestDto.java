@@ -1,5 +1,6 @@
 package com.Away.blog.domain.dtos;
 
+import com.Away.blog.domain.ContentFormat;
 import com.Away.blog.domain.PostStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -35,6 +36,8 @@ public class CreatePostRequestDto {
     @Size(max = 10,message = "Maximum {max} tags are allowed")
     private Set<UUID> tagIds = new HashSet<>();
 
+    private ContentFormat format;
+
     @NotNull(message = "status is required")
     private PostStatus status;
 }
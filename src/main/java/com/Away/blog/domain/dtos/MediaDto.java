@@ -0,0 +1,17 @@
+package com.Away.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MediaDto {
+    private String hash;
+    private String url;
+    private String contentType;
+    private long size;
+}
@@ -0,0 +1,34 @@
+package com.Away.blog.domain.dtos;
+
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.PostStatus;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PatchPostRequestDto {
+
+    @Size(min = 3,max=40,message = "title must be between {min} and {max} characters")
+    private String title;
+
+    @Size(min = 20 ,max=50000,message = "content must be between {min} and {max} characters")
+    private String content;
+
+    private UUID categoryId;
+
+    @Size(max = 10,message = "Maximum {max} tags are allowed")
+    private Set<UUID> tagIds;
+
+    private ContentFormat format;
+
+    private PostStatus status;
+}
@@ -0,0 +1,18 @@
+package com.Away.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostBatchItemDto {
+    private UUID id;
+    private boolean found;
+    private PostDto post;
+}
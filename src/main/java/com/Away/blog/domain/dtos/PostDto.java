@@ -1,6 +1,9 @@
 package com.Away.blog.domain.dtos;
 
+import com.Away.blog.domain.ContentFormat;
 import com.Away.blog.domain.PostStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,10 +17,19 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter(PostDto.FILTER)
 public class PostDto {
+    public static final String FILTER = "postFields";
+
     private UUID id;
     private String title;
     private String content;
+    private ContentFormat format;
+    private String renderedHtml;
+    private String excerpt;
+    @JsonRawValue
+    private String toc;
+    private Integer wordCount;
     private CategoryDto category;
     private Set<TagDto> tags;
     private Integer readingTime;
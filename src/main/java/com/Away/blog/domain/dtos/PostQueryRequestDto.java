@@ -0,0 +1,54 @@
+package com.Away.blog.domain.dtos;
+
+import com.Away.blog.domain.PostSort;
+import com.Away.blog.domain.TagMatch;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostQueryRequestDto {
+
+    @Size(max = 20, message = "Maximum {max} categories are allowed")
+    private Set<UUID> categoryIds;
+
+    @Size(max = 10, message = "Maximum {max} tags are allowed")
+    private Set<UUID> tagIds;
+
+    private TagMatch tagMatch;
+
+    private UUID authorId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Min(value = 0, message = "minReadingTime must not be negative")
+    private Integer minReadingTime;
+
+    @Min(value = 0, message = "maxReadingTime must not be negative")
+    private Integer maxReadingTime;
+
+    private PostSort sort;
+
+    private Sort.Direction order;
+
+    private String cursor;
+
+    @Min(value = 1, message = "limit must be positive")
+    private Integer limit;
+}
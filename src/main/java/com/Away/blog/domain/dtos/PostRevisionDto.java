@@ -0,0 +1,23 @@
+package com.Away.blog.domain.dtos;
+
+import com.Away.blog.domain.RevisionKind;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostRevisionDto {
+    private Integer revision;
+    private RevisionKind kind;
+    private String title;
+    private String content;
+    private Integer contentLength;
+    private Integer storedBytes;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.Away.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostSummaryDto {
+    private UUID id;
+    private String title;
+    private String excerpt;
+    private String authorName;
+    private String categoryName;
+    private Integer readingTime;
+    private Integer commentCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
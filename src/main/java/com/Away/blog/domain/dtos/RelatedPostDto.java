@@ -0,0 +1,21 @@
+package com.Away.blog.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RelatedPostDto {
+    private UUID id;
+    private String title;
+    private Integer readingTime;
+    private LocalDateTime createdAt;
+    private Double score;
+}
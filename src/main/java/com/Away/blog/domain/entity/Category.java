@@ -17,7 +17,7 @@ import java.util.UUID;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -16,7 +16,7 @@ import java.util.zip.CheckedOutputStream;
 @Builder
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(columnDefinition ="BINARY(16)")
     private UUID id;
 
@@ -0,0 +1,51 @@
+package com.Away.blog.domain.entity;
+
+import com.Away.blog.domain.DomainEventType;
+import com.Away.blog.domain.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 文章 id；评论事件也归到所属文章，与文章事件一起排序
+    @Column(nullable = false, columnDefinition = "BINARY(16)")
+    private UUID aggregateId;
+
+    @Column(nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    private DomainEventType eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime dispatchedAt;
+}
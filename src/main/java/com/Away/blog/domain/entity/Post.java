@@ -1,9 +1,13 @@
 package com.Away.blog.domain.entity;
 
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.PostContent;
 import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.RenderedContent;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,6 +17,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "posts")
+@DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -21,15 +26,38 @@ import java.util.UUID;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false,columnDefinition = "TEXT")
-    private String content;
+    // 旧版本的明文正文列，由 PostContentMigrationService 在后台迁移到 content_data 后置空
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String legacyContent;
+
+    @Column(name = "content_data", columnDefinition = "LONGBLOB")
+    @Convert(converter = PostContentConverter.class)
+    private PostContent content;
+
+    @Column(nullable = false, columnDefinition = "VARCHAR(16) DEFAULT 'HTML'")
+    @Enumerated(EnumType.STRING)
+    private ContentFormat format;
+
+    // 以下为内容管线生成的派生列，wordCount 为空表示尚未渲染
+    @Column(name = "rendered_html", columnDefinition = "LONGBLOB")
+    @Convert(converter = PostContentConverter.class)
+    @Setter(AccessLevel.NONE)
+    private PostContent renderedHtml;
+
+    @Column(length = 600)
+    private String excerpt;
+
+    @Column(columnDefinition = "TEXT")
+    private String toc;
+
+    private Integer wordCount;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -38,6 +66,10 @@ public class Post {
     @Column(nullable = false)
     private Integer readingTime;
 
+    // 评论数冗余计数，只通过 PostRepository.adjustCommentCount 原子更新，实体保存时不写回
+    @Column(nullable = false, updatable = false)
+    private int commentCount;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -64,16 +96,55 @@ public class Post {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Comment> comments = new HashSet<>();
 
+    public String getContent() {
+        return content != null ? content.text() : legacyContent;
+    }
+
+    public void setContent(String content) {
+        if (this.content != null && this.content.text().equals(content)) {
+            return;
+        }
+        this.content = content == null ? null : PostContent.of(content);
+        this.legacyContent = null;
+    }
+
+    public boolean migrateLegacyContent() {
+        if (legacyContent == null) {
+            return false;
+        }
+        this.content = PostContent.of(legacyContent);
+        this.legacyContent = null;
+        return true;
+    }
+
+    public String getRenderedHtml() {
+        return renderedHtml != null ? renderedHtml.text() : null;
+    }
+
+    public void applyRendering(RenderedContent rendered) {
+        this.renderedHtml = PostContent.of(rendered.getHtml());
+        this.excerpt = rendered.getExcerpt();
+        this.toc = rendered.getToc();
+        this.wordCount = rendered.getWordCount();
+    }
+
+    public void clearRendering() {
+        this.renderedHtml = null;
+        this.excerpt = null;
+        this.toc = null;
+        this.wordCount = null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Post post = (Post) o;
-        return Objects.equals(id, post.id) && Objects.equals(title, post.title) && Objects.equals(content, post.content) && status == post.status && Objects.equals(readingTime, post.readingTime) && Objects.equals(createdAt, post.createdAt) && Objects.equals(updatedAt, post.updatedAt);
+        return Objects.equals(id, post.id) && Objects.equals(title, post.title) && Objects.equals(getContent(), post.getContent()) && status == post.status && Objects.equals(readingTime, post.readingTime) && Objects.equals(createdAt, post.createdAt) && Objects.equals(updatedAt, post.updatedAt);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, content, status, readingTime, createdAt, updatedAt);
+        return Objects.hash(id, title, getContent(), status, readingTime, createdAt, updatedAt);
     }
     @PrePersist
     protected void OnCreate() {
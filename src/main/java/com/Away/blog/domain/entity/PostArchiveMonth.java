@@ -0,0 +1,36 @@
+package com.Away.blog.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Entity
+@Table(name = "post_archive_months")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PostArchiveMonth {
+    // 年 * 100 + 月，如 202610
+    @Id
+    @Column(name = "archive_month")
+    private Integer archiveMonth;
+
+    @Column(nullable = false)
+    private int postCount;
+
+    public YearMonth getYearMonth() {
+        return YearMonth.of(archiveMonth / 100, archiveMonth % 100);
+    }
+
+    public static int keyOf(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static int keyOf(LocalDateTime time) {
+        return keyOf(YearMonth.from(time));
+    }
+}
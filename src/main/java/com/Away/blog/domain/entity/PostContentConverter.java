@@ -0,0 +1,26 @@
+package com.Away.blog.domain.entity;
+
+import com.Away.blog.domain.PostContent;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Converter
+public class PostContentConverter implements AttributeConverter<PostContent, byte[]> {
+
+    // 由 Spring 创建时从配置读取，未经 Spring 创建时使用默认值
+    @Value("${blog.content.compression-threshold:1024}")
+    private int compressionThreshold = 1024;
+
+    @Override
+    public byte[] convertToDatabaseColumn(PostContent attribute) {
+        return attribute == null ? null : attribute.encode(compressionThreshold);
+    }
+
+    @Override
+    public PostContent convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : PostContent.fromStored(dbData);
+    }
+}
@@ -0,0 +1,56 @@
+package com.Away.blog.domain.entity;
+
+import com.Away.blog.domain.RevisionKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "post_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_revisions_post_revision", columnNames = {"post_id", "revision"})
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PostRevision {
+
+    @Id
+    @UuidV7Id
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "post_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID postId;
+
+    @Column(nullable = false)
+    private Integer revision;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RevisionKind kind;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private Integer contentLength;
+
+    @Column(nullable = false)
+    private Integer storedBytes;
+
+    // SNAPSHOT 为 Deflate 压缩的全文，DELTA 为相对上一版本的压缩差量
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
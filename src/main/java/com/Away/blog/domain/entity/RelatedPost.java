@@ -0,0 +1,38 @@
+package com.Away.blog.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "related_posts", indexes = {
+        @Index(name = "idx_related_posts_post_position", columnList = "post_id, position")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RelatedPost {
+
+    @Id
+    @UuidV7Id
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "post_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID postId;
+
+    // 不建外键：被关联的文章删除后由刷新任务清理，查询时通过 join 自然过滤
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "related_post_id", nullable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Post relatedPost;
+
+    @Column(nullable = false)
+    private Integer position;
+
+    @Column(nullable = false)
+    private Double score;
+}
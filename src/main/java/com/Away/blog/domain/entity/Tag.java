@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -17,16 +18,30 @@ import java.util.UUID;
 @Builder
 public class Tag {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
+    // 小写后的名字，唯一约束 uk_tags_name_key 据此按忽略大小写去重；列按字节比较，不忽略重音
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+
     @ManyToMany(mappedBy = "tags")
     private Set<Post> posts = new HashSet<>();
 
+    public static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = nameKey(name);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
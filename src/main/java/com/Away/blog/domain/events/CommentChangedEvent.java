@@ -0,0 +1,28 @@
+package com.Away.blog.domain.events;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Builder
+@Jacksonized
+public class CommentChangedEvent {
+
+    public enum Type {
+        ADDED,
+        DELETED
+    }
+
+    private final UUID commentId;
+    private final UUID postId;
+    private final UUID postAuthorId;
+    private final Type type;
+    private final UUID authorId;
+    private final String authorName;
+    private final String content;
+    private final LocalDateTime createdAt;
+}
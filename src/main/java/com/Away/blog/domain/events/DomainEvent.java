@@ -0,0 +1,35 @@
+package com.Away.blog.domain.events;
+
+import com.Away.blog.domain.DomainEventType;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.util.UUID;
+
+/**
+ * 从发件箱投递出来的事件，在事务提交之后、请求线程之外送达，同一篇文章的事件按顺序到达。
+ * 监听器抛出异常时整条事件会稍后重投（至少一次），所以处理必须幂等。
+ * 监听方式：{@code @EventListener void on(DomainEvent<PostChangedEvent> event)}。
+ * 监听器在唯一的投递线程上同步执行，不要加 {@code @Async}：交给线程池后失败不会重投，顺序也不再保证。
+ * 持久的派生数据（相关推荐、清理软删除的文章、预渲染快照）走这里；内存缓存的失效（feed、sitemap、作者统计、
+ * 快照缓存）仍在提交后直接监听 {@link PostChangedEvent}，丢了也只是缓存多活一会儿，重启即重建；
+ * 月度归档计数在写事务提交前更新，本身就和业务数据一起提交或回滚。
+ */
+@Getter
+@Builder
+public class DomainEvent<T> implements ResolvableTypeProvider {
+
+    private final long id;
+    private final DomainEventType type;
+    private final UUID aggregateId;
+    private final T payload;
+    // 第几次投递，从 1 开始
+    private final int attempt;
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(DomainEvent.class, ResolvableType.forInstance(payload));
+    }
+}
@@ -0,0 +1,12 @@
+package com.Away.blog.domain.events;
+
+import com.Away.blog.domain.MediaFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MediaStoredEvent {
+    private final String hash;
+    private final MediaFormat format;
+}
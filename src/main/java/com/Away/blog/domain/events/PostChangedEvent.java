@@ -0,0 +1,47 @@
+package com.Away.blog.domain.events;
+
+import com.Away.blog.domain.PostStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+@Builder
+@Jacksonized
+public class PostChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final UUID postId;
+    private final UUID authorId;
+    private final LocalDateTime createdAt;
+    private final Type type;
+    private final PostStatus previousStatus;
+    private final PostStatus status;
+    private final UUID previousCategoryId;
+    private final UUID categoryId;
+    private final boolean tagsChanged;
+
+    public boolean isStatusChanged() {
+        return previousStatus != status;
+    }
+
+    public boolean isCategoryChanged() {
+        return !Objects.equals(previousCategoryId, categoryId);
+    }
+
+    /**
+     * 变更前或变更后处于发布状态，即对外可见的内容受到了影响。
+     */
+    public boolean isPublicChange() {
+        return previousStatus == PostStatus.PUBLISHED || status == PostStatus.PUBLISHED;
+    }
+}
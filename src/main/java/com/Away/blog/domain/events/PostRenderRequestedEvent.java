@@ -0,0 +1,12 @@
+package com.Away.blog.domain.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class PostRenderRequestedEvent {
+    private final UUID postId;
+}
@@ -1,22 +1,29 @@
 package com.Away.blog.mappers;
 
 import com.Away.blog.domain.CreateCommentRequest;
+import com.Away.blog.domain.FieldSelection;
 import com.Away.blog.domain.dtos.CommentDto;
 import com.Away.blog.domain.dtos.CreateCommentRequestDto;
 import com.Away.blog.domain.entity.Comment;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
 
-@Mapper(componentModel = "spring",unmappedTargetPolicy = ReportingPolicy.IGNORE,uses = {PostMapper.class,UserMapper.class})
+@Mapper(componentModel = "spring",unmappedTargetPolicy = ReportingPolicy.IGNORE,uses = {PostMapper.class,UserMapper.class,FieldSelectionConditions.class})
 public interface CommentMapper {
-    @Mapping(target = "post", source = "post")
+    @Mapping(target = "post", source = "post", qualifiedByName = "fullPost")
     @Mapping(target = "author", source = "author")
     @Mapping(target = "id", source = "id")
     @Mapping(target = "content", source = "content")
     CommentDto toDto(Comment comment);
 
+    // 选中 post 时返回完整的文章，fields 只作用于评论本身的属性
+    @Mapping(target = "post", source = "post", qualifiedByName = "fullPost")
+    @Mapping(target = "author", source = "author")
+    CommentDto toDto(Comment comment, @Context FieldSelection fields);
+
     @Mapping(target = "content",source = "content")
     CreateCommentRequest toEntity(CreateCommentRequestDto createCommentDto);
 }
@@ -0,0 +1,20 @@
+package com.Away.blog.mappers;
+
+import com.Away.blog.domain.FieldSelection;
+import org.mapstruct.Condition;
+import org.mapstruct.Context;
+import org.mapstruct.TargetPropertyName;
+
+/**
+ * 带 @Context FieldSelection 的映射方法只映射 fields= 选中的属性。
+ */
+public final class FieldSelectionConditions {
+
+    private FieldSelectionConditions() {
+    }
+
+    @Condition
+    public static boolean isSelected(@TargetPropertyName String property, @Context FieldSelection fields) {
+        return fields.includes(property);
+    }
+}
@@ -0,0 +1,17 @@
+package com.Away.blog.mappers;
+
+import com.Away.blog.domain.MediaFile;
+import com.Away.blog.domain.dtos.MediaDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface MediaMapper {
+
+    String MEDIA_PATH = "/wang/shine1/media/";
+
+    @Mapping(target = "url", expression = "java(MEDIA_PATH + mediaFile.getHash())")
+    @Mapping(target = "contentType", source = "format.contentType")
+    MediaDto toDto(MediaFile mediaFile);
+}
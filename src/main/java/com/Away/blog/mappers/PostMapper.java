@@ -2,22 +2,74 @@ package com.Away.blog.mappers;
 
 
 import com.Away.blog.domain.CreatePostRequest;
+import com.Away.blog.domain.FieldSelection;
+import com.Away.blog.domain.PatchPostRequest;
+import com.Away.blog.domain.PostCounts;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostSummary;
 import com.Away.blog.domain.UpdatePostRequest;
+import com.Away.blog.domain.dtos.ArchiveMonthDto;
+import com.Away.blog.domain.dtos.CategoryDto;
 import com.Away.blog.domain.dtos.CreatePostRequestDto;
+import com.Away.blog.domain.dtos.PatchPostRequestDto;
 import com.Away.blog.domain.dtos.PostDto;
+import com.Away.blog.domain.dtos.PostQueryRequestDto;
+import com.Away.blog.domain.dtos.PostSummaryDto;
+import com.Away.blog.domain.dtos.TagDto;
 import com.Away.blog.domain.dtos.UpdatePostRequestDto;
+import com.Away.blog.domain.entity.Category;
 import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.PostArchiveMonth;
+import com.Away.blog.domain.entity.Tag;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.ReportingPolicy;
 
-@Mapper(componentModel = "spring",unmappedTargetPolicy = ReportingPolicy.IGNORE,uses={UserMapper.class,TagMapper.class,CategoryMapper.class})
+@Mapper(componentModel = "spring",unmappedTargetPolicy = ReportingPolicy.IGNORE,uses={UserMapper.class,TagMapper.class,CategoryMapper.class,FieldSelectionConditions.class})
 public interface PostMapper {
     @Mapping(target = "author",source = "author")
     @Mapping(target = "category",source = "category")
     @Mapping(target = "tags",source = "tags")
+    @Named("fullPost")
     PostDto toDto(Post post);
 
+    // fields= 没有选中的属性不映射，作者、分类、标签这些懒加载关联也就不会被加载
+    @Mapping(target = "author",source = "author")
+    @Mapping(target = "category",source = "category")
+    @Mapping(target = "tags",source = "tags")
+    PostDto toDto(Post post, @Context FieldSelection fields);
+
+    // 批量取文章：分类和标签的文章数取自 counts，不加载它们的 posts 集合
+    @Mapping(target = "author",source = "author")
+    @Mapping(target = "category",source = "category", qualifiedByName = "countedCategory")
+    @Mapping(target = "tags",source = "tags", qualifiedByName = "countedTag")
+    PostDto toDto(Post post, @Context FieldSelection fields, @Context PostCounts counts);
+
+    @Named("countedCategory")
+    @Mapping(target = "postCount", expression = "java(counts.ofCategory(category.getId()))")
+    CategoryDto toCountedCategoryDto(Category category, @Context PostCounts counts);
+
+    @Named("countedTag")
+    @Mapping(target = "postCount", expression = "java(counts.ofTag(tag.getId()))")
+    TagDto toCountedTagDto(Tag tag, @Context PostCounts counts);
+
+    PostSummaryDto toSummaryDto(PostSummary summary);
+
+    @Mapping(target = "month", source = "yearMonth")
+    ArchiveMonthDto toArchiveMonthDto(PostArchiveMonth archiveMonth);
+
+    // 未传的参数保留 PostQuery 的默认值
+    @BeanMapping(nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+    @Mapping(target = "createdFrom", source = "from")
+    @Mapping(target = "createdTo", source = "to")
+    @Mapping(target = "direction", source = "order")
+    PostQuery toPostQuery(PostQueryRequestDto dto);
+
     CreatePostRequest createPostRequest(CreatePostRequestDto Dto);
     UpdatePostRequest updatePostRequest(UpdatePostRequestDto Dto);
+    PatchPostRequest patchPostRequest(PatchPostRequestDto Dto);
 }
@@ -0,0 +1,17 @@
+package com.Away.blog.mappers;
+
+import com.Away.blog.domain.PostRevisionSummary;
+import com.Away.blog.domain.dtos.PostRevisionDto;
+import com.Away.blog.domain.entity.PostRevision;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface PostRevisionMapper {
+    @Mapping(target = "content", ignore = true)
+    PostRevisionDto toDto(PostRevisionSummary summary);
+
+    @Mapping(target = "content", source = "content")
+    PostRevisionDto toDto(PostRevision revision, String content);
+}
@@ -0,0 +1,17 @@
+package com.Away.blog.mappers;
+
+import com.Away.blog.domain.dtos.RelatedPostDto;
+import com.Away.blog.domain.entity.RelatedPost;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface RelatedPostMapper {
+    @Mapping(target = "id", source = "relatedPost.id")
+    @Mapping(target = "title", source = "relatedPost.title")
+    @Mapping(target = "readingTime", source = "relatedPost.readingTime")
+    @Mapping(target = "createdAt", source = "relatedPost.createdAt")
+    @Mapping(target = "score", source = "score")
+    RelatedPostDto toDto(RelatedPost relatedPost);
+}
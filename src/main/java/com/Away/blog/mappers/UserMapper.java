@@ -1,6 +1,8 @@
 package com.Away.blog.mappers;
 
+import com.Away.blog.domain.AuthorStats;
 import com.Away.blog.domain.dtos.AuthorDto;
+import com.Away.blog.domain.dtos.AuthorProfileDto;
 import com.Away.blog.domain.dtos.RegisterDto;
 import com.Away.blog.domain.entity.User;
 import org.mapstruct.Mapper;
@@ -19,4 +21,8 @@ public interface UserMapper {
     @Mapping(target = "email",source = "email")
     @Mapping(target = "role",source = "role")
     AuthorDto toAuthorDto(User user);
+
+    @Mapping(target = "id", source = "user.id")
+    @Mapping(target = "name", source = "user.name")
+    AuthorProfileDto toAuthorProfileDto(User user, AuthorStats stats);
 }
@@ -2,11 +2,23 @@ package com.Away.blog.repositories;
 
 import com.Away.blog.domain.entity.Comment;
 import com.Away.blog.domain.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
-    List<Comment> findAllByPost(Post post);
+    List<Comment> findAllByPostOrderByCreatedAtAsc(Post post);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.post.id = :postId")
+    List<UUID> findIdsByPostId(@Param("postId") UUID postId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,42 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.OutboxStatus;
+import com.Away.blog.domain.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // id 在 afterId 之后、可以投递的事件：同一 aggregate 在它之前（含自身）没有还在退避等待的事件，保证按顺序投递
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.id > :afterId " +
+            "AND NOT EXISTS (SELECT w.id FROM OutboxEvent w WHERE w.aggregateId = e.aggregateId " +
+            "AND w.status = :status AND w.id <= e.id AND w.nextAttemptAt > :now) ORDER BY e.id")
+    List<OutboxEvent> findDeliverable(@Param("status") OutboxStatus status,
+                                      @Param("afterId") long afterId,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids,
+                       @Param("status") OutboxStatus status,
+                       @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = :status AND e.dispatchedAt < :before ORDER BY e.id")
+    List<Long> findIdsByStatusAndDispatchedAtBefore(@Param("status") OutboxStatus status,
+                                                    @Param("before") LocalDateTime before,
+                                                    Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
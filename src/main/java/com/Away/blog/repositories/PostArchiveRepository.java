@@ -0,0 +1,22 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.entity.PostArchiveMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostArchiveRepository extends JpaRepository<PostArchiveMonth, Integer> {
+
+    List<PostArchiveMonth> findByPostCountGreaterThanOrderByArchiveMonthDesc(int postCount);
+
+    // 单条语句完成"不存在则插入，存在则加减"，并发发布同一个月的文章时由行锁串行化
+    @Modifying
+    @Query(value = "INSERT INTO post_archive_months (archive_month, post_count) VALUES (:month, :delta) "
+            + "ON DUPLICATE KEY UPDATE post_count = post_count + :delta", nativeQuery = true)
+    int adjustPostCount(@Param("month") int month, @Param("delta") int delta);
+}
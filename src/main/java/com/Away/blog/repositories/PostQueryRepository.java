@@ -0,0 +1,27 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.FieldSelection;
+import com.Away.blog.domain.PostCursor;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.entity.Post;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PostQueryRepository {
+
+    /**
+     * 把组合条件编译成一条 SELECT：条件都落在 posts 的等值/范围谓词上，标签用关联子查询，
+     * 排序为 (排序键, id)，游标翻页走索引上的 range 而不是 OFFSET。after 为 null 时从第一页开始。
+     */
+    List<PostSummary> findSummaries(PostQuery query, PostCursor after, int limit);
+
+    /**
+     * 按 createdAt 倒序查询文章，只读取 fields 选中的列：正文、渲染结果等大字段没选中就不读，
+     * 作者和分类选中时才 join，标签选中时再用一条 IN 查询批量加载。authorId/categoryId/tagId 为 null 时不过滤。
+     * 返回的 Post 只填充了选中的属性，不在持久化上下文里，只能用来输出。
+     */
+    List<Post> findPartialPosts(PostStatus status, UUID authorId, UUID categoryId, UUID tagId, FieldSelection fields);
+}
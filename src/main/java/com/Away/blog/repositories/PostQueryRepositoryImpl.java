@@ -0,0 +1,205 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.FieldSelection;
+import com.Away.blog.domain.PostContent;
+import com.Away.blog.domain.PostCursor;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.TagMatch;
+import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class PostQueryRepositoryImpl implements PostQueryRepository {
+
+    // PostDto 中和 Post 同名的普通列；content 对应新旧两列，单独处理
+    private static final List<String> COLUMNS = List.of("title", "format", "renderedHtml", "excerpt", "toc",
+            "wordCount", "readingTime", "createdAt", "updatedAt", "status");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PostSummary> findSummaries(PostQuery query, PostCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostSummary> cq = cb.createQuery(PostSummary.class);
+        Root<Post> post = cq.from(Post.class);
+        Join<Post, User> author = post.join("author");
+        Join<Post, Category> category = post.join("category");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(post.get("status"), PostStatus.PUBLISHED));
+        if (query.getAuthorId() != null) {
+            predicates.add(cb.equal(author.get("id"), query.getAuthorId()));
+        }
+        if (query.getCategoryIds() != null && !query.getCategoryIds().isEmpty()) {
+            predicates.add(category.get("id").in(query.getCategoryIds()));
+        }
+        if (query.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(post.get("createdAt"), query.getCreatedFrom()));
+        }
+        if (query.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(post.get("createdAt"), query.getCreatedTo()));
+        }
+        if (query.getMinReadingTime() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(post.get("readingTime"), query.getMinReadingTime()));
+        }
+        if (query.getMaxReadingTime() != null) {
+            predicates.add(cb.lessThanOrEqualTo(post.get("readingTime"), query.getMaxReadingTime()));
+        }
+        if (query.getTagIds() != null && !query.getTagIds().isEmpty()) {
+            predicates.add(tagPredicate(cb, cq, post, query));
+        }
+        if (after != null) {
+            predicates.add(afterCursor(cb, post, after));
+        }
+
+        Path<Comparable<Object>> key = post.get(query.getSort().getAttribute());
+        boolean ascending = query.getDirection() == Sort.Direction.ASC;
+        cq.select(cb.construct(PostSummaryRow.class,
+                        post.get("id"), post.get("title"), post.get("excerpt"), post.get("createdAt"),
+                        post.get("updatedAt"), post.get("readingTime"), post.get("commentCount"),
+                        author.get("name"), category.get("name")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(ascending ? cb.asc(key) : cb.desc(key),
+                        ascending ? cb.asc(post.get("id")) : cb.desc(post.get("id")));
+        return entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Post> findPartialPosts(PostStatus status, UUID authorId, UUID categoryId, UUID tagId,
+                                       FieldSelection fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Post> post = cq.from(Post.class);
+
+        // id 总是要查，标签按它回填
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(post.get("id").alias("id"));
+        for (String column : COLUMNS) {
+            if (fields.includes(column)) {
+                selections.add(post.get(column).alias(column));
+            }
+        }
+        if (fields.includes("content")) {
+            selections.add(post.get("content").alias("content"));
+            selections.add(post.get("legacyContent").alias("legacyContent"));
+        }
+        if (fields.includes("author")) {
+            selections.add(post.join("author").alias("author"));
+        }
+        if (fields.includes("category")) {
+            selections.add(post.join("category").alias("category"));
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(post.get("status"), status));
+        if (authorId != null) {
+            predicates.add(cb.equal(post.get("author").get("id"), authorId));
+        }
+        if (categoryId != null) {
+            predicates.add(cb.equal(post.get("category").get("id"), categoryId));
+        }
+        if (tagId != null) {
+            Subquery<UUID> tagged = cq.subquery(UUID.class);
+            Join<Post, Tag> tag = tagged.correlate(post).join("tags");
+            tagged.select(tag.get("id")).where(cb.equal(tag.get("id"), tagId));
+            predicates.add(cb.exists(tagged));
+        }
+
+        cq.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(post.get("createdAt")));
+        Set<String> selected = selections.stream().map(Selection::getAlias).collect(Collectors.toSet());
+        List<Post> posts = entityManager.createQuery(cq).getResultList().stream()
+                .map(tuple -> toPartialPost(tuple, selected))
+                .toList();
+        if (fields.includes("tags") && !posts.isEmpty()) {
+            fetchTags(posts);
+        }
+        return posts;
+    }
+
+    private static Post toPartialPost(Tuple tuple, Set<String> selected) {
+        return Post.builder()
+                .id(tuple.get("id", UUID.class))
+                .title(value(tuple, selected, "title", String.class))
+                .content(value(tuple, selected, "content", PostContent.class))
+                .legacyContent(value(tuple, selected, "legacyContent", String.class))
+                .format(value(tuple, selected, "format", ContentFormat.class))
+                .renderedHtml(value(tuple, selected, "renderedHtml", PostContent.class))
+                .excerpt(value(tuple, selected, "excerpt", String.class))
+                .toc(value(tuple, selected, "toc", String.class))
+                .wordCount(value(tuple, selected, "wordCount", Integer.class))
+                .readingTime(value(tuple, selected, "readingTime", Integer.class))
+                .createdAt(value(tuple, selected, "createdAt", LocalDateTime.class))
+                .updatedAt(value(tuple, selected, "updatedAt", LocalDateTime.class))
+                .status(value(tuple, selected, "status", PostStatus.class))
+                .author(value(tuple, selected, "author", User.class))
+                .category(value(tuple, selected, "category", Category.class))
+                .tags(new HashSet<>())
+                .build();
+    }
+
+    private static <T> T value(Tuple tuple, Set<String> selected, String alias, Class<T> type) {
+        return selected.contains(alias) ? tuple.get(alias, type) : null;
+    }
+
+    private void fetchTags(List<Post> posts) {
+        Map<UUID, Post> byId = posts.stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Post> post = cq.from(Post.class);
+        Join<Post, Tag> tag = post.join("tags");
+        cq.multiselect(post.get("id"), tag).where(post.get("id").in(byId.keySet()));
+        for (Tuple row : entityManager.createQuery(cq).getResultList()) {
+            byId.get(row.get(0, UUID.class)).getTags().add(row.get(1, Tag.class));
+        }
+    }
+
+    // post_tags 上以 (post_id, tag_id) 主键做关联子查询；ANY 用 EXISTS，ALL 要求命中的标签数等于请求的标签数
+    private static Predicate tagPredicate(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Post> post, PostQuery query) {
+        if (query.getTagMatch() == TagMatch.ALL) {
+            Subquery<Long> matched = cq.subquery(Long.class);
+            Join<Post, Tag> tag = matched.correlate(post).join("tags");
+            matched.select(cb.count(tag.get("id"))).where(tag.get("id").in(query.getTagIds()));
+            return cb.equal(matched, (long) query.getTagIds().size());
+        }
+        Subquery<UUID> any = cq.subquery(UUID.class);
+        Join<Post, Tag> tag = any.correlate(post).join("tags");
+        any.select(tag.get("id")).where(tag.get("id").in(query.getTagIds()));
+        return cb.exists(any);
+    }
+
+    // 写成 key <= v AND (key < v OR id < id) 的形式，让排序键上的索引可以做 range 扫描
+    @SuppressWarnings("unchecked")
+    private static Predicate afterCursor(CriteriaBuilder cb, Root<Post> post, PostCursor after) {
+        Path<Comparable<Object>> key = post.get(after.getSort().getAttribute());
+        Comparable<Object> value = (Comparable<Object>) after.getKey();
+        Path<UUID> id = post.get("id");
+        if (after.getDirection() == Sort.Direction.ASC) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, after.getId())));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.lessThan(id, after.getId())));
+    }
+}
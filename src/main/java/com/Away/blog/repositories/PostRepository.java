@@ -1,21 +1,113 @@
 package com.Away.blog.repositories;
 
+import com.Away.blog.domain.AuthorStats;
+import com.Away.blog.domain.GroupedPostCount;
+import com.Away.blog.domain.PostSitemapEntry;
 import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.PostTagLink;
 import com.Away.blog.domain.entity.Category;
 import com.Away.blog.domain.entity.Post;
 import com.Away.blog.domain.entity.Tag;
 import com.Away.blog.domain.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {
-    List<Post> findAllByStatusAndCategoryAndTagsContaining(PostStatus status, Category category, Tag tag);
-    List<Post> findAllByStatusAndCategory(PostStatus status, Category category);
-    List<Post> findAllByStatusAndTagsContaining(PostStatus status, Tag tag);
-    List<Post> findAllByStatus(PostStatus status);
-    List<Post> findDraftsByAuthorAndStatus(User user,PostStatus status);
+public interface PostRepository extends JpaRepository<Post, UUID>, PostQueryRepository {
+    Optional<Post> findByIdAndStatusNot(UUID id, PostStatus status);
+    boolean existsByIdAndStatusNot(UUID id, PostStatus status);
+    boolean existsByIdAndStatus(UUID id, PostStatus status);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.author JOIN FETCH p.category LEFT JOIN FETCH p.tags " +
+            "WHERE p.id = :id AND p.status = :status")
+    Optional<Post> findDetailedByIdAndStatus(@Param("id") UUID id, @Param("status") PostStatus status);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.author JOIN FETCH p.category LEFT JOIN FETCH p.tags " +
+            "WHERE p.id IN :ids AND p.status <> :status")
+    List<Post> findDetailedByIdInAndStatusNot(@Param("ids") Collection<UUID> ids, @Param("status") PostStatus status);
+
+    @Query("SELECT p.category.id AS groupId, COUNT(p) AS postCount FROM Post p " +
+            "WHERE p.category.id IN :categoryIds AND p.status = :status GROUP BY p.category.id")
+    List<GroupedPostCount> countByCategoryIds(@Param("categoryIds") Collection<UUID> categoryIds,
+                                              @Param("status") PostStatus status);
+
+    @Query("SELECT t.id AS groupId, COUNT(p) AS postCount FROM Post p JOIN p.tags t " +
+            "WHERE t.id IN :tagIds AND p.status = :status GROUP BY t.id")
+    List<GroupedPostCount> countByTagIds(@Param("tagIds") Collection<UUID> tagIds, @Param("status") PostStatus status);
+    List<Post> findAllByStatusAndCategoryAndTagsContainingOrderByCreatedAtDesc(PostStatus status, Category category, Tag tag);
+    List<Post> findAllByStatusAndCategoryOrderByCreatedAtDesc(PostStatus status, Category category);
+    List<Post> findAllByStatusAndTagsContainingOrderByCreatedAtDesc(PostStatus status, Tag tag);
+    List<Post> findAllByStatusOrderByCreatedAtDesc(PostStatus status);
+    List<Post> findDraftsByAuthorAndStatusOrderByCreatedAtDesc(User user,PostStatus status);
+
+    @Query("SELECT p.id AS postId, p.category.id AS categoryId, t.id AS tagId " +
+            "FROM Post p LEFT JOIN p.tags t WHERE p.status = :status")
+    List<PostTagLink> findTagLinksByStatus(@Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS postId, p.category.id AS categoryId, t.id AS tagId " +
+            "FROM Post p LEFT JOIN p.tags t WHERE p.id = :id AND p.status = :status")
+    List<PostTagLink> findTagLinksByIdAndStatus(@Param("id") UUID id, @Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.excerpt AS excerpt, p.createdAt AS createdAt, p.updatedAt AS updatedAt, " +
+            "p.readingTime AS readingTime, p.commentCount AS commentCount, a.name AS authorName, c.name AS categoryName " +
+            "FROM Post p JOIN p.author a JOIN p.category c WHERE p.status = :status ORDER BY p.createdAt DESC")
+    List<PostSummary> findSummariesByStatus(@Param("status") PostStatus status, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.excerpt AS excerpt, p.createdAt AS createdAt, p.updatedAt AS updatedAt, " +
+            "p.readingTime AS readingTime, p.commentCount AS commentCount, a.name AS authorName, c.name AS categoryName " +
+            "FROM Post p JOIN p.author a JOIN p.category c " +
+            "WHERE p.status = :status AND c.id = :categoryId ORDER BY p.createdAt DESC")
+    List<PostSummary> findSummariesByStatusAndCategoryId(@Param("status") PostStatus status,
+                                                        @Param("categoryId") UUID categoryId,
+                                                        Pageable pageable);
+
+    @Query("SELECT COUNT(p.id) AS postCount, COALESCE(SUM(p.readingTime), 0) AS totalReadingTime, " +
+            "COALESCE(SUM(p.commentCount), 0) AS commentCount " +
+            "FROM Post p WHERE p.author.id = :authorId AND p.status = :status")
+    AuthorStats findAuthorStats(@Param("authorId") UUID authorId, @Param("status") PostStatus status);
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt FROM Post p " +
+            "WHERE p.status = :status ORDER BY p.id")
+    List<PostSitemapEntry> findSitemapEntries(@Param("status") PostStatus status, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt FROM Post p " +
+            "WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<PostSitemapEntry> findSitemapEntriesAfter(@Param("status") PostStatus status,
+                                                   @Param("afterId") UUID afterId,
+                                                   Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.legacyContent IS NOT NULL")
+    List<UUID> findIdsWithLegacyContent(Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.wordCount IS NULL")
+    List<UUID> findIdsWithoutRendering(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT p.id FROM Post p WHERE p.status = :status ORDER BY p.id")
+    List<UUID> findIdsByStatus(@Param("status") PostStatus status, Pageable pageable);
+
+    // 批量删除绕过 Post.comments 的级联，调用前需确保评论已清理完；post_tags 由 Hibernate 在同一语句前一并删除
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id = :id AND p.status = :status")
+    int deleteByIdAndStatus(@Param("id") UUID id, @Param("status") PostStatus status);
+
+    // 评论数计数器的原子加减，不经过实体，避免并发评论互相覆盖
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+    int adjustCommentCount(@Param("id") UUID id, @Param("delta") int delta);
 }
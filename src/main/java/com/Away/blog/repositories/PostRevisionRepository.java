@@ -0,0 +1,37 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.PostRevisionSummary;
+import com.Away.blog.domain.entity.PostRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, UUID> {
+
+    @Query("SELECT r.revision AS revision, r.kind AS kind, r.title AS title, r.contentLength AS contentLength, " +
+            "r.storedBytes AS storedBytes, r.createdAt AS createdAt " +
+            "FROM PostRevision r WHERE r.postId = :postId ORDER BY r.revision DESC")
+    List<PostRevisionSummary> findSummariesByPostId(@Param("postId") UUID postId);
+
+    Optional<PostRevision> findByPostIdAndRevision(UUID postId, Integer revision);
+
+    @Query("SELECT MAX(r.revision) FROM PostRevision r WHERE r.postId = :postId")
+    Integer findLatestRevision(@Param("postId") UUID postId);
+
+    @Query("SELECT r FROM PostRevision r WHERE r.postId = :postId " +
+            "AND r.revision BETWEEN :fromRevision AND :toRevision ORDER BY r.revision")
+    List<PostRevision> findChain(@Param("postId") UUID postId,
+                                 @Param("fromRevision") int fromRevision,
+                                 @Param("toRevision") int toRevision);
+
+    @Modifying
+    @Query("DELETE FROM PostRevision r WHERE r.postId = :postId")
+    void deleteByPostId(@Param("postId") UUID postId);
+}
@@ -0,0 +1,23 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.PostSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Criteria 查询的构造器投影
+@Getter
+@AllArgsConstructor
+public class PostSummaryRow implements PostSummary {
+    private final UUID id;
+    private final String title;
+    private final String excerpt;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Integer readingTime;
+    private final Integer commentCount;
+    private final String authorName;
+    private final String categoryName;
+}
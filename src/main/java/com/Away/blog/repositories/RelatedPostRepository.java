@@ -0,0 +1,29 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.entity.RelatedPost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RelatedPostRepository extends JpaRepository<RelatedPost, UUID> {
+
+    @Query("SELECT r FROM RelatedPost r JOIN FETCH r.relatedPost p " +
+            "WHERE r.postId = :postId AND p.status = :status ORDER BY r.position")
+    List<RelatedPost> findByPostId(@Param("postId") UUID postId, @Param("status") PostStatus status);
+
+    @Modifying
+    @Query("DELETE FROM RelatedPost r WHERE r.postId IN :postIds")
+    void deleteByPostIdIn(@Param("postIds") Collection<UUID> postIds);
+
+    @Modifying
+    @Query("DELETE FROM RelatedPost r WHERE r.postId NOT IN (SELECT p.id FROM Post p WHERE p.status = :status)")
+    void deleteWherePostStatusNot(@Param("status") PostStatus status);
+}
@@ -5,15 +5,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, UUID> {
+public interface TagRepository extends JpaRepository<Tag, UUID>, TagRepositoryCustom {
 
     @Query("SELECT t FROM Tag t LEFT JOIN FETCH t.posts")
     List<Tag> findAllWithPostsCount();
 
-    List<Tag> findByNameIn(Set<String> names);
+    List<Tag> findByNameKeyIn(Collection<String> nameKeys);
 }
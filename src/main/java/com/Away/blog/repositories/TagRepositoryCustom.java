@@ -0,0 +1,13 @@
+package com.Away.blog.repositories;
+
+import java.util.Collection;
+
+public interface TagRepositoryCustom {
+
+    /**
+     * 一条多行 INSERT ... ON DUPLICATE KEY UPDATE 写入标签，忽略大小写后已存在的名字（uk_tags_name_key）直接跳过，
+     * 并发创建同名标签不会撞唯一约束。行按 name_key 排序写入，并发的批量插入以相同顺序加锁，不会互相死锁。
+     * 返回受影响的行数。
+     */
+    int insertIgnoringExisting(Collection<String> names);
+}
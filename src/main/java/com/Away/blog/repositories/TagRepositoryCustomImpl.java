@@ -0,0 +1,55 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.domain.entity.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIgnoringExisting(Collection<String> names) {
+        // 按 name_key 排序并去重（保留第一次出现的写法）
+        SortedMap<String, String> rows = new TreeMap<>();
+        for (String name : names) {
+            rows.putIfAbsent(Tag.nameKey(name), name);
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        // MySQL 与 H2（MODE=MySQL）都支持该语法；name = name 让冲突行保持不变
+        StringBuilder sql = new StringBuilder("INSERT INTO tags (id, name, name_key) VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(?").append(3 * i + 1).append(", ?").append(3 * i + 2).append(", ?").append(3 * i + 3).append(')');
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE name = name");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (Map.Entry<String, String> row : rows.entrySet()) {
+            query.setParameter(position++, toBytes(UuidV7Generator.next()));
+            query.setParameter(position++, row.getValue());
+            query.setParameter(position++, row.getKey());
+        }
+        return query.executeUpdate();
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
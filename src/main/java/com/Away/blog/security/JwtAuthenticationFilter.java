@@ -1,6 +1,8 @@
 package com.Away.blog.security;
 
 import com.Away.blog.services.AuthenticationServices;
+import com.Away.blog.tracing.RequestTrace;
+import com.Away.blog.tracing.Span;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,7 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractToken(request);
             if (token != null) {
-                UserDetails userDetails = authenticationService.validateToken(token);
+                UserDetails userDetails;
+                try (Span ignored = RequestTrace.span("auth", "jwt")) {
+                    userDetails = authenticationService.validateToken(token);
+                }
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
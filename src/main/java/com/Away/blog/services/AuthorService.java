@@ -0,0 +1,12 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.AuthorStats;
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.PostSummary;
+
+import java.util.UUID;
+
+public interface AuthorService {
+    AuthorStats getAuthorStats(UUID authorId);
+    CursorPage<PostSummary> getAuthorPosts(UUID authorId, String cursor, int limit);
+}
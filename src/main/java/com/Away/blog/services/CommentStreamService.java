@@ -0,0 +1,11 @@
+package com.Away.blog.services;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.UUID;
+
+public interface CommentStreamService {
+    void subscribe(UUID postId, HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
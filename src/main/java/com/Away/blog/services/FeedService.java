@@ -0,0 +1,10 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.RenderedDocument;
+
+import java.util.UUID;
+
+public interface FeedService {
+    RenderedDocument getSiteFeed();
+    RenderedDocument getCategoryFeed(UUID categoryId);
+}
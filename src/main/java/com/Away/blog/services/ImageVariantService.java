@@ -0,0 +1,12 @@
+package com.Away.blog.services;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+public interface ImageVariantService {
+    OptionalInt getImageWidth(String hash);
+    List<Integer> getVariantWidths(int imageWidth);
+    boolean isVariantWidth(int width);
+    // 返回 false 表示这张图不会有衍生图（不可解码、不比最小宽度宽或最近生成失败过），地址应直接用原图
+    boolean requestVariants(String hash);
+}
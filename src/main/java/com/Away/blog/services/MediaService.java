@@ -0,0 +1,13 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.MediaFile;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface MediaService {
+    MediaFile store(InputStream content, long declaredLength);
+    MediaFile getMedia(String hash);
+    Optional<MediaFile> findVariant(String hash, int width);
+    void storeVariant(String hash, int width, byte[] content);
+}
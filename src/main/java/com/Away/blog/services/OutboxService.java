@@ -0,0 +1,6 @@
+package com.Away.blog.services;
+
+public interface OutboxService {
+    int dispatchPending();
+    int deleteDispatched();
+}
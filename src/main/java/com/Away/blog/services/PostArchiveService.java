@@ -0,0 +1,13 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.entity.PostArchiveMonth;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface PostArchiveService {
+    List<PostArchiveMonth> getArchiveMonths();
+    CursorPage<PostSummary> getArchivePosts(YearMonth month, String cursor, int limit);
+}
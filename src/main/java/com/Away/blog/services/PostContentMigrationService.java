@@ -0,0 +1,5 @@
+package com.Away.blog.services;
+
+public interface PostContentMigrationService {
+    int migrateLegacyContent();
+}
@@ -0,0 +1,8 @@
+package com.Away.blog.services;
+
+import java.util.UUID;
+
+public interface PostPurgeService {
+    boolean purge(UUID postId);
+    int purgeDeleted();
+}
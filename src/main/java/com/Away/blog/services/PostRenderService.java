@@ -0,0 +1,8 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.entity.Post;
+
+public interface PostRenderService {
+    boolean render(Post post);
+    int renderPending();
+}
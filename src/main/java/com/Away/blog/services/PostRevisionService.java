@@ -0,0 +1,17 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.PostRevisionSummary;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.PostRevision;
+
+import java.nio.file.AccessDeniedException;
+import java.util.List;
+import java.util.UUID;
+
+public interface PostRevisionService {
+    void recordRevision(Post post, String previousTitle, String previousContent);
+    void deleteRevisions(UUID postId);
+    List<PostRevisionSummary> listRevisions(UUID postId, UUID userId) throws AccessDeniedException;
+    PostRevision getRevision(UUID postId, int revision, UUID userId) throws AccessDeniedException;
+    String reconstructContent(PostRevision revision);
+}
@@ -1,20 +1,32 @@
 package com.Away.blog.services;
 
 import com.Away.blog.domain.CreatePostRequest;
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.FieldSelection;
+import com.Away.blog.domain.PatchPostRequest;
+import com.Away.blog.domain.PostCounts;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostSummary;
 import com.Away.blog.domain.UpdatePostRequest;
 import com.Away.blog.domain.dtos.CreatePostRequestDto;
 import com.Away.blog.domain.entity.Post;
 import com.Away.blog.domain.entity.User;
 
 import java.nio.file.AccessDeniedException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface PostService {
     Post getPost(UUID id);
+    Map<UUID, Post> getPosts(Collection<UUID> ids);
+    PostCounts getPublishedPostCounts(Collection<Post> posts);
     void deletePost(UUID id) throws AccessDeniedException;
-    List<Post> getAllPosts(UUID categoryId, UUID tagId);
-    List<Post> getDrafts(User user);
+    List<Post> getAllPosts(UUID categoryId, UUID tagId, FieldSelection fields);
+    List<Post> getDrafts(User user, FieldSelection fields);
+    CursorPage<PostSummary> queryPosts(PostQuery query);
     Post createPost(User user, CreatePostRequest createPostRequest);
     Post updatePost(UUID id, UpdatePostRequest updatePostRequest) throws AccessDeniedException;
+    Post patchPost(UUID id, PatchPostRequest patchPostRequest) throws AccessDeniedException;
 }
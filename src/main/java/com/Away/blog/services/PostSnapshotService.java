@@ -0,0 +1,9 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.RenderedDocument;
+
+import java.util.UUID;
+
+public interface PostSnapshotService {
+    RenderedDocument getSnapshot(UUID postId);
+}
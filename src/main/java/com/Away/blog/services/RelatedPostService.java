@@ -0,0 +1,11 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.entity.RelatedPost;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface RelatedPostService {
+    List<RelatedPost> getRelatedPosts(UUID postId);
+    void rebuildIndex();
+}
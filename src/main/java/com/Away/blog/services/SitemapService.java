@@ -0,0 +1,9 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.RenderedDocument;
+import com.Away.blog.domain.SitemapShard;
+
+public interface SitemapService {
+    RenderedDocument getIndex();
+    SitemapShard getShard(int number);
+}
@@ -0,0 +1,59 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.AuthorStats;
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.events.CommentChangedEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.AuthorService;
+import com.Away.blog.services.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class AuthorServiceImpl implements AuthorService {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+
+    // 作者统计缓存，作者的文章或其文章下的评论变化时失效
+    private final Map<UUID, AuthorStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorStats getAuthorStats(UUID authorId) {
+        return stats.computeIfAbsent(authorId,
+                id -> postRepository.findAuthorStats(id, PostStatus.PUBLISHED));
+    }
+
+    @Override
+    public CursorPage<PostSummary> getAuthorPosts(UUID authorId, String cursor, int limit) {
+        return postService.queryPosts(PostQuery.builder()
+                .authorId(authorId)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getAuthorId() != null) {
+            stats.remove(event.getAuthorId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (event.getPostAuthorId() != null) {
+            stats.remove(event.getPostAuthorId());
+        }
+    }
+}
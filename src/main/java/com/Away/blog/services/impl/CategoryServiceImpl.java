@@ -2,12 +2,14 @@ package com.Away.blog.services.impl;
 
 
 import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.events.CategoryRenamedEvent;
 import com.Away.blog.repositories.CategoryRepository;
 import com.Away.blog.services.CategoryService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,6 +20,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Category> listCategories() {
@@ -50,8 +53,13 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
     public Category updateCategory(UUID id, Category category) {
         Category existingCategory = findCategoryById(id);
+        if (!existingCategory.getName().equals(category.getName())) {
+            // feed 和文章快照里缓存了分类名
+            eventPublisher.publishEvent(new CategoryRenamedEvent(id));
+        }
         existingCategory.setName(category.getName());
         return categoryRepository.save(existingCategory);
     }
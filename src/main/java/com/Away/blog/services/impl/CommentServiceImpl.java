@@ -2,17 +2,21 @@ package com.Away.blog.services.impl;
 
 import com.Away.blog.domain.CreateCommentRequest;
 import com.Away.blog.domain.entity.User;
+import com.Away.blog.domain.events.CommentChangedEvent;
 import com.Away.blog.services.CommentService;
 
 import com.Away.blog.domain.entity.Comment;
 import com.Away.blog.domain.entity.Post;
 import com.Away.blog.repositories.CommentRepository;
+import com.Away.blog.repositories.PostRepository;
 import com.Away.blog.services.PostService;
 import com.Away.blog.services.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
@@ -23,12 +27,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
     private final PostService postService;
     private final UserService userService;
-
-
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public Comment createComment(CreateCommentRequest createCommentRequest, User user, UUID postId) {
         Comment comment = Comment.builder()
                 .content(createCommentRequest.getContent())
@@ -36,15 +41,28 @@ public class CommentServiceImpl implements CommentService {
                 .post(postService.getPost(postId))
                 .createdAt(LocalDateTime.now())
                 .build();
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        postRepository.adjustCommentCount(postId, 1);
+        eventPublisher.publishEvent(CommentChangedEvent.builder()
+                .commentId(savedComment.getId())
+                .postId(postId)
+                .postAuthorId(savedComment.getPost().getAuthor().getId())
+                .type(CommentChangedEvent.Type.ADDED)
+                .authorId(user.getId())
+                .authorName(user.getName())
+                .content(savedComment.getContent())
+                .createdAt(savedComment.getCreatedAt())
+                .build());
+        return savedComment;
     }
 
     @Override
     public List<Comment> findAllByPost(Post post) {
-        return commentRepository.findAllByPost(post);
+        return commentRepository.findAllByPostOrderByCreatedAtAsc(post);
     }
 
     @Override
+    @Transactional
     public void deleteCommentById(UUID commentId) throws AccessDeniedException {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentUsername = authentication.getName();
@@ -57,5 +75,12 @@ public class CommentServiceImpl implements CommentService {
         }
 
         commentRepository.deleteById(commentId);
+        postRepository.adjustCommentCount(comment.getPost().getId(), -1);
+        eventPublisher.publishEvent(CommentChangedEvent.builder()
+                .commentId(commentId)
+                .postId(comment.getPost().getId())
+                .postAuthorId(comment.getPost().getAuthor().getId())
+                .type(CommentChangedEvent.Type.DELETED)
+                .build());
     }
 }
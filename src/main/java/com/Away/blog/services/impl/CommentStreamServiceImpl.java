@@ -0,0 +1,254 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.dtos.AuthorDto;
+import com.Away.blog.domain.dtos.CommentDto;
+import com.Away.blog.domain.events.CommentChangedEvent;
+import com.Away.blog.domain.events.DomainEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.CommentStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按文章维护 SSE 订阅者。连接本身由 Servlet 异步请求挂起，不占用线程。
+ * 写出使用 Servlet 非阻塞 I/O：每个订阅者有一个有界队列，只在输出流 isReady 时写，
+ * 写不动时由容器在可写后回调 onWritePossible 继续，任何线程都不会卡在某个客户端的 socket 上。
+ * 队列写满，或者一次写出超过 write-timeout 仍未完成，说明客户端消费太慢，直接断开。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommentStreamServiceImpl implements CommentStreamService {
+
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final PostRepository postRepository;
+
+    @Value("${blog.comment-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${blog.comment-stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${blog.comment-stream.write-timeout-ms:30000}")
+    private long writeTimeoutMs;
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void subscribe(UUID postId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 只检查存在性，不把文章实体留在长连接的持久化上下文里
+        if (!postRepository.existsByIdAndStatusNot(postId, PostStatus.DELETED)) {
+            throw new EntityNotFoundException("Post not found");
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext context = request.startAsync();
+        context.setTimeout(timeoutMs);
+        Subscriber subscriber = new Subscriber(postId, context, response.getOutputStream(), new ArrayBlockingQueue<>(bufferSize));
+        context.addListener(subscriber);
+        subscribers.computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        // 容器在输出流可写时回调 onWritePossible，先把响应头发出去
+        subscriber.out.setWriteListener(subscriber);
+    }
+
+    @EventListener
+    public void onCommentChanged(DomainEvent<CommentChangedEvent> domainEvent) {
+        CommentChangedEvent event = domainEvent.getPayload();
+        Set<Subscriber> postSubscribers = subscribers.get(event.getPostId());
+        if (postSubscribers == null || postSubscribers.isEmpty()) {
+            return;
+        }
+        // 每个事件只序列化一次，所有订阅者共享同一份字节
+        byte[] data;
+        try {
+            data = sseEvent(event.getCommentId().toString(),
+                    event.getType() == CommentChangedEvent.Type.ADDED ? "comment-added" : "comment-deleted",
+                    objectMapper.writeValueAsString(toDto(event)));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize comment event {}", event.getCommentId(), e);
+            return;
+        }
+        postSubscribers.forEach(subscriber -> subscriber.enqueue(data));
+    }
+
+    /**
+     * 发送心跳，同时断开写出卡住超过 write-timeout 的订阅者。
+     */
+    @Scheduled(fixedRateString = "${blog.comment-stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(postSubscribers -> postSubscribers.forEach(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                log.debug("Dropping stalled comment stream subscriber of post {}", subscriber.postId);
+                subscriber.close();
+            } else {
+                subscriber.enqueue(HEARTBEAT);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(postSubscribers -> postSubscribers.forEach(Subscriber::close));
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.postId, (postId, postSubscribers) -> {
+            postSubscribers.remove(subscriber);
+            return postSubscribers.isEmpty() ? null : postSubscribers;
+        });
+    }
+
+    private static byte[] sseEvent(String id, String name, String json) {
+        StringBuilder event = new StringBuilder(json.length() + 64)
+                .append("id:").append(id).append('\n')
+                .append("event:").append(name).append('\n');
+        for (String line : json.split("\n", -1)) {
+            event.append("data:").append(line).append('\n');
+        }
+        return event.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static CommentDto toDto(CommentChangedEvent event) {
+        return CommentDto.builder()
+                .id(event.getCommentId())
+                .content(event.getContent())
+                .createdAt(event.getCreatedAt())
+                .author(event.getAuthorId() == null ? null : AuthorDto.builder()
+                        .id(event.getAuthorId())
+                        .name(event.getAuthorName())
+                        .build())
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    private class Subscriber implements WriteListener, AsyncListener {
+        private final UUID postId;
+        private final AsyncContext context;
+        private final ServletOutputStream out;
+        private final Queue<byte[]> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 输出流不可写、还有数据等着的起始时间，0 表示没有卡住
+        private volatile long stalledSince;
+
+        void enqueue(byte[] data) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(data)) {
+                log.debug("Dropping slow comment stream subscriber of post {}", postId);
+                close();
+                return;
+            }
+            flush();
+        }
+
+        /**
+         * 事件线程和容器回调都会调用，同一时刻只有一个线程在写；isReady 为 false 时停下，等容器回调。
+         */
+        synchronized void flush() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                boolean written = false;
+                while (out.isReady()) {
+                    byte[] data = queue.poll();
+                    if (data == null) {
+                        stalledSince = 0;
+                        if (written || !context.getResponse().isCommitted()) {
+                            out.flush();
+                        }
+                        return;
+                    }
+                    out.write(data);
+                    written = true;
+                }
+                if (stalledSince == 0) {
+                    stalledSince = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Comment stream subscriber of post {} disconnected", postId, e);
+                close();
+            }
+        }
+
+        boolean isStalled(long now) {
+            long since = stalledSince;
+            return since != 0 && now - since > writeTimeoutMs * 1_000_000;
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            unregister(this);
+            queue.clear();
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // 请求已经结束
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            flush();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
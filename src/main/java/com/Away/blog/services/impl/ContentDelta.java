@@ -0,0 +1,175 @@
+package com.Away.blog.services.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 二进制差量编码：把目标内容表示为对基准内容的 COPY(offset, length) 与字面量 INSERT 序列，再整体 Deflate 压缩。
+ * 基准按固定块建立哈希索引，目标用滚动哈希逐字节查找匹配，编辑集中在局部时差量只有改动部分的大小。
+ */
+final class ContentDelta {
+
+    private static final int BLOCK = 16;
+    private static final long PRIME = 1_000_003L;
+    private static final byte OP_COPY = 0;
+    private static final byte OP_INSERT = 1;
+
+    private ContentDelta() {
+    }
+
+    static byte[] encode(byte[] base, byte[] target) {
+        Map<Long, Integer> blocks = new HashMap<>(Math.max(16, base.length / BLOCK * 2));
+        for (int offset = 0; offset + BLOCK <= base.length; offset += BLOCK) {
+            blocks.putIfAbsent(hash(base, offset), offset);
+        }
+        long power = 1;
+        for (int i = 1; i < BLOCK; i++) {
+            power *= PRIME;
+        }
+
+        ByteArrayOutputStream ops = new ByteArrayOutputStream(Math.max(64, target.length / 8));
+        int literalStart = 0;
+        int position = 0;
+        long rolling = target.length >= BLOCK ? hash(target, 0) : 0;
+        while (position + BLOCK <= target.length) {
+            Integer candidate = blocks.get(rolling);
+            if (candidate != null && Arrays.equals(base, candidate, candidate + BLOCK, target, position, position + BLOCK)) {
+                int baseStart = candidate;
+                int targetStart = position;
+                // 向前扩展到尚未输出的字面量中，向后尽量延长
+                while (baseStart > 0 && targetStart > literalStart && base[baseStart - 1] == target[targetStart - 1]) {
+                    baseStart--;
+                    targetStart--;
+                }
+                int end = position + BLOCK;
+                int baseEnd = candidate + BLOCK;
+                while (end < target.length && baseEnd < base.length && base[baseEnd] == target[end]) {
+                    end++;
+                    baseEnd++;
+                }
+                writeInsert(ops, target, literalStart, targetStart);
+                ops.write(OP_COPY);
+                writeVarInt(ops, baseStart);
+                writeVarInt(ops, end - targetStart);
+                position = end;
+                literalStart = end;
+                if (position + BLOCK <= target.length) {
+                    rolling = hash(target, position);
+                }
+                continue;
+            }
+            if (position + BLOCK < target.length) {
+                rolling = (rolling - (target[position] & 0xff) * power) * PRIME + (target[position + BLOCK] & 0xff);
+            }
+            position++;
+        }
+        writeInsert(ops, target, literalStart, target.length);
+        return deflate(ops.toByteArray());
+    }
+
+    static byte[] apply(byte[] base, byte[] delta) {
+        DataInputStream ops = new DataInputStream(new ByteArrayInputStream(inflate(delta)));
+        ByteArrayOutputStream target = new ByteArrayOutputStream(base.length + 64);
+        try {
+            int op;
+            while ((op = ops.read()) != -1) {
+                if (op == OP_COPY) {
+                    int offset = readVarInt(ops);
+                    int length = readVarInt(ops);
+                    target.write(base, offset, length);
+                } else if (op == OP_INSERT) {
+                    int length = readVarInt(ops);
+                    target.write(ops.readNBytes(length));
+                } else {
+                    throw new IllegalStateException("Corrupt revision delta, unknown op " + op);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return target.toByteArray();
+    }
+
+    static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                // 空内容压缩后的流在第一次 inflate 时就结束，此时 read 为 0 但不是截断
+                if (read == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed revision data");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed revision data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long hash(byte[] data, int offset) {
+        long hash = 0;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            hash = hash * PRIME + (data[i] & 0xff);
+        }
+        return hash;
+    }
+
+    private static void writeInsert(ByteArrayOutputStream ops, byte[] target, int from, int to) {
+        if (to > from) {
+            ops.write(OP_INSERT);
+            writeVarInt(ops, to - from);
+            ops.write(target, from, to - from);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Corrupt revision delta, varint too long");
+    }
+}
@@ -0,0 +1,197 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.RenderedContent;
+import com.Away.blog.domain.TocEntry;
+import com.Away.blog.services.ImageVariantService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 文章内容管线：Markdown 先转成 HTML，再按白名单净化，最后从净化后的文档生成目录、摘要和字数。
+ * 解析器、渲染器和白名单都是线程安全的，全局共享一份。
+ */
+@Component
+@RequiredArgsConstructor
+class ContentRenderer {
+
+    private static final List<Extension> MARKDOWN_EXTENSIONS = List.of(
+            TablesExtension.create(), StrikethroughExtension.create());
+    private static final Parser MARKDOWN_PARSER = Parser.builder().extensions(MARKDOWN_EXTENSIONS).build();
+    private static final HtmlRenderer MARKDOWN_RENDERER = HtmlRenderer.builder().extensions(MARKDOWN_EXTENSIONS).build();
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addTags("del", "s", "hr")
+            .addAttributes("code", "class")
+            .addAttributes("pre", "class")
+            .addAttributes("th", "align")
+            .addAttributes("td", "align");
+    // 站内媒体地址，前缀保留作者写的协议和主机
+    private static final Pattern MEDIA_URL = Pattern.compile("^(.*/wang/shine1/media/)([0-9a-f]{64})$");
+
+    private final ObjectMapper objectMapper;
+    private final ImageVariantService imageVariantService;
+
+    @Value("${blog.render.excerpt-length:200}")
+    private int excerptLength;
+
+    @Value("${blog.render.image-sizes:(max-width: 800px) 100vw, 800px}")
+    private String imageSizes;
+
+    RenderedContent render(String source, ContentFormat format) {
+        String html = format == ContentFormat.MARKDOWN
+                ? MARKDOWN_RENDERER.render(MARKDOWN_PARSER.parse(source))
+                : source;
+        Document document = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(html));
+        document.outputSettings().prettyPrint(false);
+
+        List<TocEntry> toc = buildToc(document);
+        addSrcset(document);
+        String text = document.body().text();
+        try {
+            return RenderedContent.builder()
+                    .html(document.body().html())
+                    .excerpt(excerpt(text))
+                    .toc(objectMapper.writeValueAsString(toc))
+                    .wordCount(countWords(text))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize table of contents", e);
+        }
+    }
+
+    // 标题的 id 在净化之后生成，用户提交的 id 属性一律丢弃，避免与页面元素冲突
+    private List<TocEntry> buildToc(Document document) {
+        List<TocEntry> toc = new ArrayList<>();
+        Map<String, Integer> used = new HashMap<>();
+        for (Element heading : document.body().select("h1, h2, h3, h4, h5, h6")) {
+            String text = heading.text();
+            if (text.isBlank()) {
+                continue;
+            }
+            String slug = slugify(text);
+            int seen = used.merge(slug, 1, Integer::sum);
+            String id = seen == 1 ? slug : slug + "-" + seen;
+            heading.attr("id", id);
+            toc.add(new TocEntry(heading.tagName().charAt(1) - '0', id, text));
+        }
+        return toc;
+    }
+
+    /**
+     * 站内图片加上各宽度衍生图组成的 srcset。地址只由哈希和宽度决定，衍生图还没生成时
+     * 对应地址先返回原图，所以不需要等生成完成再渲染。
+     */
+    private void addSrcset(Document document) {
+        for (Element image : document.body().select("img[src]")) {
+            Matcher media = MEDIA_URL.matcher(image.attr("src"));
+            if (!media.matches()) {
+                continue;
+            }
+            String hash = media.group(2);
+            OptionalInt imageWidth = imageVariantService.getImageWidth(hash);
+            if (imageWidth.isEmpty()) {
+                continue;
+            }
+            List<Integer> widths = imageVariantService.getVariantWidths(imageWidth.getAsInt());
+            if (widths.isEmpty() || !imageVariantService.requestVariants(hash)) {
+                continue;
+            }
+            StringJoiner srcset = new StringJoiner(", ");
+            for (int width : widths) {
+                srcset.add(media.group(1) + hash + "/" + width + " " + width + "w");
+            }
+            srcset.add(image.attr("src") + " " + imageWidth.getAsInt() + "w");
+            image.attr("srcset", srcset.toString());
+            image.attr("sizes", imageSizes);
+        }
+    }
+
+    private String excerpt(String text) {
+        if (text.length() <= excerptLength) {
+            return text;
+        }
+        int end = excerptLength;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        // 西文尽量在词边界截断，中文直接按字截断
+        int space = text.lastIndexOf(' ', end);
+        if (space > excerptLength * 4 / 5) {
+            end = space;
+        }
+        return text.substring(0, end).stripTrailing() + "…";
+    }
+
+    // 中日韩文字按字计数，其他文字按连续的字母数字串计数
+    private static int countWords(String text) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                count++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    count++;
+                    inWord = true;
+                }
+            } else if (codePoint != '\'' && codePoint != '’') {
+                inWord = false;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static String slugify(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        boolean dash = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                slug.appendCodePoint(Character.toLowerCase(codePoint));
+                dash = false;
+            } else if (!dash && !slug.isEmpty()) {
+                slug.append('-');
+                dash = true;
+            }
+        }
+        if (dash) {
+            slug.setLength(slug.length() - 1);
+        }
+        return slug.isEmpty() ? "section" : slug.toString().toLowerCase(Locale.ROOT);
+    }
+}
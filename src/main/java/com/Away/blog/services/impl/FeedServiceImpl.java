@@ -0,0 +1,184 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.RenderedDocument;
+import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.events.CategoryRenamedEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.CategoryService;
+import com.Away.blog.services.FeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedServiceImpl implements FeedService {
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String SITE_SCOPE = "site";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final PostRepository postRepository;
+    private final CategoryService categoryService;
+
+    // key 为 "site" 或分类 id；只在该范围内有已发布文章变化时失效
+    private final Map<String, RenderedDocument> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${blog.site-url:http://localhost:5173}")
+    private String siteUrl;
+
+    @Value("${blog.feed.size:50}")
+    private int feedSize;
+
+    @Override
+    public RenderedDocument getSiteFeed() {
+        return cached(SITE_SCOPE, () -> render(
+                "My Blog", siteUrl + "/wang/shine1/feed.xml",
+                postRepository.findSummariesByStatus(PostStatus.PUBLISHED, PageRequest.of(0, feedSize))));
+    }
+
+    @Override
+    public RenderedDocument getCategoryFeed(UUID categoryId) {
+        RenderedDocument cached = feeds.get(categoryId.toString());
+        if (cached != null) {
+            return cached;
+        }
+        Category category = categoryService.findCategoryById(categoryId);
+        return cached(categoryId.toString(), () -> render(
+                "My Blog - " + category.getName(), siteUrl + "/wang/shine1/categories/" + categoryId + "/feed.xml",
+                postRepository.findSummariesByStatusAndCategoryId(
+                        PostStatus.PUBLISHED, categoryId, PageRequest.of(0, feedSize))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (!event.isPublicChange()) {
+            return;
+        }
+        // 先推进代数再删除，正在渲染的请求能发现自己的结果已经过期
+        generation.incrementAndGet();
+        feeds.remove(SITE_SCOPE);
+        if (event.getPreviousCategoryId() != null) {
+            feeds.remove(event.getPreviousCategoryId().toString());
+        }
+        if (event.getCategoryId() != null) {
+            feeds.remove(event.getCategoryId().toString());
+        }
+    }
+
+    // 全站 feed 的分类名和分类 feed 的标题都会变，分类改名很少，直接全部丢弃
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryRenamed(CategoryRenamedEvent event) {
+        generation.incrementAndGet();
+        feeds.clear();
+    }
+
+    /**
+     * 查询和渲染在 map 的锁之外进行。放入之后如果发现期间有文章变化，就把这份可能过期的结果撤回，
+     * 本次请求照常返回它，下一次请求重新生成。
+     */
+    private RenderedDocument cached(String scope, Supplier<RenderedDocument> loader) {
+        RenderedDocument document = feeds.get(scope);
+        if (document != null) {
+            return document;
+        }
+        long loadedAt = generation.get();
+        document = loader.get();
+        RenderedDocument existing = feeds.putIfAbsent(scope, document);
+        if (existing != null) {
+            return existing;
+        }
+        if (generation.get() != loadedAt) {
+            feeds.remove(scope, document);
+        }
+        return document;
+    }
+
+    private RenderedDocument render(String title, String selfUrl, List<PostSummary> posts) {
+        LocalDateTime updated = posts.stream()
+                .map(PostSummary::getUpdatedAt)
+                .max(LocalDateTime::compareTo)
+                .orElse(LocalDateTime.now());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024 + posts.size() * 512);
+        try {
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(buffer, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement("feed");
+            xml.writeDefaultNamespace(ATOM_NS);
+            writeElement(xml, "title", title);
+            writeElement(xml, "id", selfUrl);
+            writeElement(xml, "updated", format(updated));
+            writeLink(xml, "self", selfUrl);
+            writeLink(xml, "alternate", siteUrl);
+            for (PostSummary post : posts) {
+                String postUrl = siteUrl + "/p/" + post.getId();
+                xml.writeStartElement("entry");
+                writeElement(xml, "title", post.getTitle());
+                writeElement(xml, "id", postUrl);
+                writeLink(xml, "alternate", postUrl);
+                writeElement(xml, "published", format(post.getCreatedAt()));
+                writeElement(xml, "updated", format(post.getUpdatedAt()));
+                if (post.getExcerpt() != null) {
+                    writeElement(xml, "summary", post.getExcerpt());
+                }
+                xml.writeStartElement("author");
+                writeElement(xml, "name", post.getAuthorName());
+                xml.writeEndElement();
+                xml.writeEmptyElement("category");
+                xml.writeAttribute("term", post.getCategoryName());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to render feed " + selfUrl, e);
+        }
+        log.debug("Rendered feed {} with {} entries", selfUrl, posts.size());
+        return RenderedDocument.of(buffer.toByteArray(), toInstant(updated));
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    private static void writeLink(XMLStreamWriter xml, String rel, String href) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("rel", rel);
+        xml.writeAttribute("href", href);
+    }
+
+    private static String format(LocalDateTime time) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(time.atZone(ZoneId.systemDefault()));
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,265 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.MediaFile;
+import com.Away.blog.domain.MediaFormat;
+import com.Away.blog.domain.events.MediaStoredEvent;
+import com.Away.blog.services.ImageVariantService;
+import com.Away.blog.services.MediaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 为上传的图片生成固定宽度的缩小版本，供文章中 img 的 srcset 使用。
+ * 生成在独立的有界线程池里进行，队列满时直接放弃，之后访问衍生图或重新渲染文章时会再次提交。
+ * 生成失败的图片在 blog.media.variant-failure-ttl 内不再重试，期间衍生图地址直接返回原图。
+ * 衍生图只输出 JPEG 和 PNG：JDK 的 ImageIO 没有 WebP 的编码器和解码器，项目也没有引入图像编解码库，
+ * 上传的 WebP 原样提供、不生成衍生图，srcset 中也不会出现 WebP。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    // JDK 自带的 ImageIO 能解码的格式；GIF 缩放会丢掉动画，不处理；WebP 没有可用的编解码器
+    private static final Set<MediaFormat> DERIVABLE = EnumSet.of(MediaFormat.PNG, MediaFormat.JPEG);
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final MediaService mediaService;
+
+    @Value("${blog.media.variant-widths:320,640,1280}")
+    private int[] variantWidths;
+
+    @Value("${blog.media.variant-threads:2}")
+    private int threads;
+
+    @Value("${blog.media.variant-queue-capacity:100}")
+    private int queueCapacity;
+
+    // 超过这个像素数的图片不解码，避免解压炸弹撑爆堆
+    @Value("${blog.media.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Value("${blog.media.variant-failure-ttl:PT1H}")
+    private Duration failureTtl;
+
+    // 原图宽度，内容按哈希寻址不会变化，不需要失效；0 表示不能生成衍生图
+    private final Map<String, Integer> imageWidths = new ConcurrentHashMap<>();
+    // 排队或处理中的原图，同一张图同时只有一个任务
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+    // 生成失败的原图及可以重试的时间（毫秒）
+    private final Map<String, Long> failedUntil = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor workers;
+
+    @PostConstruct
+    void start() {
+        Arrays.sort(variantWidths);
+        workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-variant-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public OptionalInt getImageWidth(String hash) {
+        Integer width = imageWidths.computeIfAbsent(hash, this::readWidth);
+        return width == null || width == 0 ? OptionalInt.empty() : OptionalInt.of(width);
+    }
+
+    @Override
+    public List<Integer> getVariantWidths(int imageWidth) {
+        return Arrays.stream(variantWidths).filter(width -> width < imageWidth).boxed().toList();
+    }
+
+    @Override
+    public boolean isVariantWidth(int width) {
+        return Arrays.binarySearch(variantWidths, width) >= 0;
+    }
+
+    @Override
+    public boolean requestVariants(String hash) {
+        if (completed.contains(hash)) {
+            return true;
+        }
+        if (hasFailed(hash)) {
+            return false;
+        }
+        OptionalInt imageWidth = getImageWidth(hash);
+        if (imageWidth.isEmpty()) {
+            return false;
+        }
+        List<Integer> widths = getVariantWidths(imageWidth.getAsInt());
+        if (widths.isEmpty()) {
+            return false;
+        }
+        if (!inFlight.add(hash)) {
+            return true;
+        }
+        try {
+            workers.execute(() -> generate(hash, widths));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            log.warn("Image variant queue is full, skipped {}", hash);
+        }
+        return true;
+    }
+
+    // 过了冷却期的失败记录顺手删掉，允许再试一次
+    private boolean hasFailed(String hash) {
+        Long until = failedUntil.get(hash);
+        if (until == null) {
+            return false;
+        }
+        if (until > System.currentTimeMillis()) {
+            return true;
+        }
+        failedUntil.remove(hash, until);
+        return false;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMediaStored(MediaStoredEvent event) {
+        if (DERIVABLE.contains(event.getFormat())) {
+            requestVariants(event.getHash());
+        }
+    }
+
+    private void generate(String hash, List<Integer> widths) {
+        long start = System.currentTimeMillis();
+        try {
+            MediaFile original = mediaService.getMedia(hash);
+            BufferedImage source = null;
+            for (int width : widths) {
+                if (mediaService.findVariant(hash, width).isPresent()) {
+                    continue;
+                }
+                if (source == null) {
+                    source = ImageIO.read(original.getFile().toFile());
+                    if (source == null) {
+                        throw new IOException("No image reader for " + original.getFormat());
+                    }
+                }
+                mediaService.storeVariant(hash, width, encode(resize(source, width)));
+            }
+            completed.add(hash);
+            log.info("Image variants {} of {} ready in {} ms", widths, hash, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            long now = System.currentTimeMillis();
+            failedUntil.values().removeIf(until -> until <= now);
+            failedUntil.put(hash, now + failureTtl.toMillis());
+            log.warn("Failed to generate image variants of {}, not retrying for {}", hash, failureTtl, e);
+        } finally {
+            inFlight.remove(hash);
+        }
+    }
+
+    // 返回 null 表示文件还不存在，不缓存，之后上传了还能识别
+    private Integer readWidth(String hash) {
+        MediaFile media;
+        try {
+            media = mediaService.getMedia(hash);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+        if (!DERIVABLE.contains(media.getFormat())) {
+            return 0;
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(media.getFile().toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return 0;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                return (long) width * reader.getHeight(0) <= maxPixels ? width : 0;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read image size of {}", hash, e);
+            return 0;
+        }
+    }
+
+    // 双线性插值一次缩小超过一半会跳过像素产生锯齿，所以逐次减半直到目标宽度
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    // 有透明通道的输出 PNG，其余输出 JPEG
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
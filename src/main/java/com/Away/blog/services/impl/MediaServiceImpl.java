@@ -0,0 +1,224 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.MediaFile;
+import com.Away.blog.domain.MediaFormat;
+import com.Away.blog.domain.events.MediaStoredEvent;
+import com.Away.blog.services.MediaService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaServiceImpl implements MediaService {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${blog.media.directory:data/media}")
+    private String directory;
+
+    @Value("${blog.media.max-size:20MB}")
+    private DataSize maxSize;
+
+    @Value("${blog.media.format-cache-size:10000}")
+    private int formatCacheSize;
+
+    // 文件按内容哈希寻址、写入后不再改变，格式只需探测一次，之后的 GET 不必再读文件头；按访问顺序淘汰
+    private final Map<Path, MediaFormat> formats = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, MediaFormat> eldest) {
+            return size() > formatCacheSize;
+        }
+    };
+
+    /**
+     * 边读请求体边写临时文件并计算 SHA-256，堆上只有一个固定大小的缓冲区；
+     * 写完后按哈希原子重命名到 {前两位}/{哈希}，内容已存在时直接丢弃临时文件。
+     */
+    @Override
+    public MediaFile store(InputStream content, long declaredLength) {
+        long limit = maxSize.toBytes();
+        if (declaredLength > limit) {
+            throw new IllegalArgumentException("Media must not exceed " + maxSize);
+        }
+        Path temp = null;
+        try {
+            Path root = Paths.get(directory);
+            Files.createDirectories(root);
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int n = content.read(buffer); n != -1; n = content.read(buffer)) {
+                    size += n;
+                    if (size > limit) {
+                        throw new IllegalArgumentException("Media must not exceed " + maxSize);
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("Media must not be empty");
+            }
+            MediaFormat format = MediaFormat.sniff(readHead(temp))
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported media type"));
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path file = pathOf(hash);
+            boolean created = !Files.exists(file);
+            if (created) {
+                Files.createDirectories(file.getParent());
+                // 并发上传相同内容时两边的文件完全一样，后完成的覆盖先完成的也没有影响
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Stored media {} ({} bytes, {})", hash, size, format);
+                cacheFormat(file, format);
+                eventPublisher.publishEvent(new MediaStoredEvent(hash, format));
+            }
+            return MediaFile.builder()
+                    .hash(hash)
+                    .format(format)
+                    .size(size)
+                    .file(file)
+                    .created(created)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public MediaFile getMedia(String hash) {
+        Path file = HASH.matcher(hash).matches() ? pathOf(hash) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new EntityNotFoundException("Media not found: " + hash);
+        }
+        try {
+            return MediaFile.builder()
+                    .hash(hash)
+                    .format(formatOf(file)
+                            .orElseThrow(() -> new IllegalStateException("Unrecognized media in store: " + hash)))
+                    .size(Files.size(file))
+                    .file(file)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<MediaFile> findVariant(String hash, int width) {
+        Path file = HASH.matcher(hash).matches() ? variantPathOf(hash, width) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            long size = Files.size(file);
+            return formatOf(file).map(format -> MediaFile.builder()
+                    .hash(hash)
+                    .format(format)
+                    .size(size)
+                    .file(file)
+                    .build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 衍生图与原图放在同一目录下，由原图哈希和宽度决定，同样不可变
+    @Override
+    public void storeVariant(String hash, int width, byte[] content) {
+        Path file = variantPathOf(hash, width);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), "variant-", ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (formats) {
+                formats.remove(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return Paths.get(directory, hash.substring(0, 2), hash);
+    }
+
+    private Path variantPathOf(String hash, int width) {
+        return Paths.get(directory, hash.substring(0, 2), hash + "-" + width);
+    }
+
+    private Optional<MediaFormat> formatOf(Path file) throws IOException {
+        synchronized (formats) {
+            MediaFormat cached = formats.get(file);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<MediaFormat> format = MediaFormat.sniff(readHead(file));
+        format.ifPresent(sniffed -> cacheFormat(file, sniffed));
+        return format;
+    }
+
+    private void cacheFormat(Path file, MediaFormat format) {
+        synchronized (formats) {
+            formats.put(file, format);
+        }
+    }
+
+    private static byte[] readHead(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.readNBytes(MediaFormat.SNIFF_LENGTH);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload {}", temp, e);
+        }
+    }
+}
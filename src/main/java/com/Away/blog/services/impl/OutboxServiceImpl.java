@@ -0,0 +1,240 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.DomainEventType;
+import com.Away.blog.domain.OutboxStatus;
+import com.Away.blog.domain.entity.OutboxEvent;
+import com.Away.blog.domain.events.CommentChangedEvent;
+import com.Away.blog.domain.events.DomainEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.OutboxEventRepository;
+import com.Away.blog.services.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 事务性发件箱。文章、评论的变更事件在提交前写入 outbox_events，和业务数据同生共死；
+ * 提交后唤醒投递线程，按 id 顺序成批读出，以 {@link DomainEvent} 发布给进程内的监听器。
+ * 投递只有一个线程，同一篇文章的事件严格按顺序送达：某条事件失败后按指数退避重试，
+ * 在它成功或进入 FAILED 之前，同一篇文章后面的事件都先等着，其他文章不受影响。
+ * 提交后唤醒之外还有定时轮询，进程重启或唤醒丢失时留下的事件也会被投递。
+ * 监听器在投递线程上同步执行，重试和顺序都只对同步的监听器成立；哪些消费者走发件箱见 {@link DomainEvent}。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${blog.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${blog.outbox.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${blog.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${blog.outbox.retry-backoff:PT1S}")
+    private Duration retryBackoff;
+
+    @Value("${blog.outbox.max-retry-backoff:PT10M}")
+    private Duration maxRetryBackoff;
+
+    @Value("${blog.outbox.retention:P7D}")
+    private Duration retention;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private ScheduledExecutorService dispatcher;
+
+    @PostConstruct
+    void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("outbox-dispatcher").daemon(true).factory());
+        dispatcher.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        append(event.getPostId(), DomainEventType.of(event), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        append(event.getPostId(), DomainEventType.of(event), event);
+    }
+
+    @TransactionalEventListener(classes = {PostChangedEvent.class, CommentChangedEvent.class}, fallbackExecution = true)
+    public void onCommitted() {
+        // 连续多次提交只排一次投递
+        if (wakeUpPending.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Override
+    public int dispatchPending() {
+        try {
+            return dispatcher.submit(this::dispatchBatches).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to dispatch outbox events", e);
+        }
+    }
+
+    @Scheduled(cron = "${blog.outbox.cleanup-cron:0 30 3 * * *}")
+    public void cleanup() {
+        int deleted = deleteDispatched();
+        if (deleted > 0) {
+            log.info("已清理 {} 条投递完成的发件箱事件", deleted);
+        }
+    }
+
+    @Override
+    public int deleteDispatched() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxEventRepository.findIdsByStatusAndDispatchedAtBefore(
+                        OutboxStatus.DISPATCHED, before, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : outboxEventRepository.deleteByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                return total;
+            }
+            total += deleted;
+        }
+    }
+
+    private void append(UUID aggregateId, DomainEventType type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + type + " event", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload(json)
+                .status(OutboxStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // 定时任务里抛出的异常会取消后续执行，这里全部吞掉
+    private void drain() {
+        try {
+            dispatchBatches();
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    // 按 id 翻页扫完所有可投递的事件；还在退避的 aggregate 由查询排除，不会占满一页把后面的文章饿死
+    private int dispatchBatches() {
+        int total = 0;
+        long afterId = 0;
+        Set<UUID> blocked = new HashSet<>();
+        while (true) {
+            List<OutboxEvent> batch = outboxEventRepository.findDeliverable(
+                    OutboxStatus.PENDING, afterId, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            List<Long> dispatched = new ArrayList<>();
+            for (OutboxEvent event : batch) {
+                // 本轮投递失败的 aggregate，后面的事件等下一轮
+                if (blocked.contains(event.getAggregateId())) {
+                    continue;
+                }
+                if (!deliver(event)) {
+                    blocked.add(event.getAggregateId());
+                    continue;
+                }
+                dispatched.add(event.getId());
+            }
+            if (!dispatched.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxEventRepository.markDispatched(dispatched, OutboxStatus.DISPATCHED, LocalDateTime.now()));
+                total += dispatched.size();
+            }
+            if (batch.size() < batchSize) {
+                return total;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        int attempt = event.getAttempts() + 1;
+        try {
+            Object payload = objectMapper.readValue(event.getPayload(), event.getEventType().getPayloadType());
+            eventPublisher.publishEvent(DomainEvent.builder()
+                    .id(event.getId())
+                    .type(event.getEventType())
+                    .aggregateId(event.getAggregateId())
+                    .payload(payload)
+                    .attempt(attempt)
+                    .build());
+            return true;
+        } catch (Exception e) {
+            recordFailure(event, attempt, e);
+            return false;
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, int attempt, Exception error) {
+        event.setAttempts(attempt);
+        event.setLastError(truncate(error.toString()));
+        if (attempt >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            log.error("Outbox event {} ({}) failed {} times, giving up", event.getId(), event.getEventType(), attempt, error);
+        } else {
+            Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+            event.setNextAttemptAt(LocalDateTime.now().plus(backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff));
+            log.warn("Outbox event {} ({}) failed on attempt {}, will retry: {}",
+                    event.getId(), event.getEventType(), attempt, error.toString());
+        }
+        outboxEventRepository.save(event);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
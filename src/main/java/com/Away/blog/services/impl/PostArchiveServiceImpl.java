@@ -0,0 +1,55 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.entity.PostArchiveMonth;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.PostArchiveRepository;
+import com.Away.blog.services.PostArchiveService;
+import com.Away.blog.services.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PostArchiveServiceImpl implements PostArchiveService {
+
+    private final PostArchiveRepository postArchiveRepository;
+    private final PostService postService;
+
+    @Override
+    public List<PostArchiveMonth> getArchiveMonths() {
+        return postArchiveRepository.findByPostCountGreaterThanOrderByArchiveMonthDesc(0);
+    }
+
+    @Override
+    public CursorPage<PostSummary> getArchivePosts(YearMonth month, String cursor, int limit) {
+        return postService.queryPosts(PostQuery.builder()
+                .createdFrom(month.atDay(1).atStartOfDay())
+                .createdTo(month.plusMonths(1).atDay(1).atStartOfDay())
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    /**
+     * 在写文章的事务提交前增量维护月度计数，与文章状态变更一起提交或回滚。
+     * 只有进出 PUBLISHED 才影响计数；created_at 不可修改，所以文章始终落在同一个月。
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        int delta = (event.getStatus() == PostStatus.PUBLISHED ? 1 : 0)
+                - (event.getPreviousStatus() == PostStatus.PUBLISHED ? 1 : 0);
+        if (delta == 0 || event.getCreatedAt() == null) {
+            return;
+        }
+        postArchiveRepository.adjustPostCount(PostArchiveMonth.keyOf(event.getCreatedAt()), delta);
+    }
+}
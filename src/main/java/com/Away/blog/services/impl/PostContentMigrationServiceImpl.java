@@ -0,0 +1,62 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.PostContentMigrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 启动后在后台把旧的明文 content 列分批迁移到压缩存储的 content_data 列，每批一个独立事务。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostContentMigrationServiceImpl implements PostContentMigrationService {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${blog.content.migration-batch-size:200}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        int migrated = migrateLegacyContent();
+        if (migrated > 0) {
+            log.info("已将 {} 篇文章的正文迁移到压缩存储", migrated);
+        }
+    }
+
+    @Override
+    public synchronized int migrateLegacyContent() {
+        int total = 0;
+        while (true) {
+            Integer migrated = transactionTemplate.execute(status -> {
+                List<UUID> ids = postRepository.findIdsWithLegacyContent(PageRequest.of(0, batchSize));
+                int count = 0;
+                for (Post post : postRepository.findAllById(ids)) {
+                    if (post.migrateLegacyContent()) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            if (migrated == null || migrated == 0) {
+                return total;
+            }
+            total += migrated;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.DomainEventType;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.events.DomainEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.CommentRepository;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.repositories.RelatedPostRepository;
+import com.Away.blog.services.PostPurgeService;
+import com.Away.blog.services.PostRevisionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 软删除文章的后台清理：评论按批次批量删除，每批一个独立事务；评论清完后在一个事务里删除
+ * post_tags、相关推荐、历史版本和文章行本身。删除事件从发件箱投递过来后立即清理一次，定时任务兜底处理失败遗留的文章。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostPurgeServiceImpl implements PostPurgeService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final RelatedPostRepository relatedPostRepository;
+    private final PostRevisionService postRevisionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${blog.purge.batch-size:500}")
+    private int batchSize;
+
+    // 在发件箱的投递线程上同步清理，评论按批删除；没清理掉的抛出异常，由发件箱退避后重投，sweep 再兜底
+    @EventListener
+    public void onPostChanged(DomainEvent<PostChangedEvent> event) {
+        UUID postId = event.getAggregateId();
+        if (event.getType() == DomainEventType.POST_DELETED && !purge(postId)
+                && postRepository.existsByIdAndStatus(postId, PostStatus.DELETED)) {
+            throw new IllegalStateException("Post " + postId + " could not be purged yet");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${blog.purge.sweep-initial-delay-ms:60000}",
+            fixedDelayString = "${blog.purge.sweep-interval-ms:600000}")
+    public void sweep() {
+        int purged = purgeDeleted();
+        if (purged > 0) {
+            log.info("已清理 {} 篇软删除的文章", purged);
+        }
+    }
+
+    @Override
+    public boolean purge(UUID postId) {
+        if (postRepository.existsByIdAndStatusNot(postId, PostStatus.DELETED)) {
+            return false;
+        }
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<UUID> ids = commentRepository.findIdsByPostId(postId, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : commentRepository.deleteByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+        }
+        try {
+            Integer removed = transactionTemplate.execute(status -> {
+                relatedPostRepository.deleteByPostIdIn(List.of(postId));
+                postRevisionService.deleteRevisions(postId);
+                return postRepository.deleteByIdAndStatus(postId, PostStatus.DELETED);
+            });
+            return removed != null && removed > 0;
+        } catch (DataIntegrityViolationException e) {
+            // 清理期间又有评论写入，文章保持 DELETED，留给下一次定时清理
+            log.warn("清理文章 {} 失败，稍后重试: {}", postId, e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized int purgeDeleted() {
+        int total = 0;
+        while (true) {
+            List<UUID> ids = postRepository.findIdsByStatus(PostStatus.DELETED, PageRequest.of(0, batchSize));
+            int purged = 0;
+            for (UUID id : ids) {
+                if (purge(id)) {
+                    purged++;
+                }
+            }
+            total += purged;
+            // 本批有清理失败的文章时不再重试，避免反复读到同一批
+            if (ids.size() < batchSize || purged < ids.size()) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.domain.events.PostRenderRequestedEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.PostRenderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 写入时渲染：小文章在请求线程内直接生成派生列；超过阈值的大文章先清空派生列，提交后在后台渲染。
+ * 后台渲染持有文章行锁并读取最新提交的正文，多次快速编辑时最后完成的一次一定基于最新内容。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostRenderServiceImpl implements PostRenderService {
+
+    private final ContentRenderer contentRenderer;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${blog.render.async-threshold:20000}")
+    private int asyncThreshold;
+
+    @Value("${blog.render.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    // 返回 true 表示渲染被推迟，调用方需在保存后发布 PostRenderRequestedEvent
+    @Override
+    public boolean render(Post post) {
+        if (post.getContent() != null && post.getContent().length() >= asyncThreshold) {
+            post.clearRendering();
+            return true;
+        }
+        renderNow(post);
+        return false;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onRenderRequested(PostRenderRequestedEvent event) {
+        postRepository.findByIdForUpdate(event.getPostId()).ifPresent(this::renderInBackground);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderPendingOnStartup() {
+        int rendered = renderPending();
+        if (rendered > 0) {
+            log.info("已为 {} 篇文章补充渲染派生列", rendered);
+        }
+    }
+
+    @Override
+    public synchronized int renderPending() {
+        int total = 0;
+        while (true) {
+            Integer rendered = transactionTemplate.execute(status -> {
+                List<UUID> ids = postRepository.findIdsWithoutRendering(PageRequest.of(0, backfillBatchSize));
+                ids.forEach(id -> postRepository.findByIdForUpdate(id).ifPresent(this::renderInBackground));
+                return ids.size();
+            });
+            if (rendered == null || rendered == 0) {
+                return total;
+            }
+            total += rendered;
+        }
+    }
+
+    /**
+     * 后台渲染改变了摘要和 HTML，发布一次 UPDATED，让订阅源、快照等在派生列为空时生成的缓存失效。
+     */
+    private void renderInBackground(Post post) {
+        renderNow(post);
+        eventPublisher.publishEvent(PostChangedEvent.builder()
+                .postId(post.getId())
+                .authorId(post.getAuthor().getId())
+                .createdAt(post.getCreatedAt())
+                .type(PostChangedEvent.Type.UPDATED)
+                .previousStatus(post.getStatus())
+                .status(post.getStatus())
+                .previousCategoryId(post.getCategory().getId())
+                .categoryId(post.getCategory().getId())
+                .build());
+    }
+
+    // 没有正文的旧数据按空内容渲染，wordCount 置为 0，补渲染不会反复选中它们
+    private void renderNow(Post post) {
+        ContentFormat format = post.getFormat() != null ? post.getFormat() : ContentFormat.HTML;
+        String content = post.getContent() != null ? post.getContent() : "";
+        post.applyRendering(contentRenderer.render(content, format));
+    }
+}
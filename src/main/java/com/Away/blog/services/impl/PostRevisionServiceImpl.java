@@ -0,0 +1,133 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.PostRevisionSummary;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.RevisionKind;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.PostRevision;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.repositories.PostRevisionRepository;
+import com.Away.blog.services.PostRevisionService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 每 snapshotInterval 个版本存一份完整快照，其余版本存相对上一版本的压缩差量。
+ * 读取任意版本时从所在区段的快照开始回放，最多回放 snapshotInterval - 1 个差量。
+ */
+@Service
+@RequiredArgsConstructor
+public class PostRevisionServiceImpl implements PostRevisionService {
+
+    private final PostRevisionRepository postRevisionRepository;
+    private final PostRepository postRepository;
+
+    @Value("${blog.revisions.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Override
+    @Transactional
+    public void recordRevision(Post post, String previousTitle, String previousContent) {
+        Integer latest = postRevisionRepository.findLatestRevision(post.getId());
+        int next;
+        if (latest == null) {
+            next = 1;
+            // 早于版本功能的文章没有历史，先把修改前的内容记为第 1 版
+            if (previousContent != null) {
+                postRevisionRepository.save(snapshot(post.getId(), next++, previousTitle, previousContent));
+            }
+        } else {
+            next = latest + 1;
+        }
+
+        if (previousContent == null || isSnapshotRevision(next)) {
+            postRevisionRepository.save(snapshot(post.getId(), next, post.getTitle(), post.getContent()));
+            return;
+        }
+        // 文章当前内容就是最新版本的内容，直接以它为基准计算差量，无需回放历史
+        byte[] target = post.getContent().getBytes(StandardCharsets.UTF_8);
+        byte[] delta = ContentDelta.encode(previousContent.getBytes(StandardCharsets.UTF_8), target);
+        postRevisionRepository.save(PostRevision.builder()
+                .postId(post.getId())
+                .revision(next)
+                .kind(RevisionKind.DELTA)
+                .title(post.getTitle())
+                .contentLength(target.length)
+                .storedBytes(delta.length)
+                .data(delta)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void deleteRevisions(UUID postId) {
+        postRevisionRepository.deleteByPostId(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostRevisionSummary> listRevisions(UUID postId, UUID userId) throws AccessDeniedException {
+        checkAuthor(postId, userId);
+        return postRevisionRepository.findSummariesByPostId(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostRevision getRevision(UUID postId, int revision, UUID userId) throws AccessDeniedException {
+        checkAuthor(postId, userId);
+        return postRevisionRepository.findByPostIdAndRevision(postId, revision)
+                .orElseThrow(() -> new EntityNotFoundException("Revision not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String reconstructContent(PostRevision revision) {
+        if (revision.getKind() == RevisionKind.SNAPSHOT) {
+            return new String(ContentDelta.inflate(revision.getData()), StandardCharsets.UTF_8);
+        }
+        int target = revision.getRevision();
+        int base = target - (target - 1) % snapshotInterval;
+        List<PostRevision> chain = postRevisionRepository.findChain(revision.getPostId(), base, target);
+        if (chain.isEmpty() || chain.get(0).getKind() != RevisionKind.SNAPSHOT || chain.size() != target - base + 1) {
+            throw new IllegalStateException("版本链不完整: " + revision.getPostId() + "@" + target);
+        }
+        byte[] content = ContentDelta.inflate(chain.get(0).getData());
+        for (int i = 1; i < chain.size(); i++) {
+            content = ContentDelta.apply(content, chain.get(i).getData());
+        }
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private boolean isSnapshotRevision(int revision) {
+        return (revision - 1) % snapshotInterval == 0;
+    }
+
+    private PostRevision snapshot(UUID postId, int revision, String title, String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        byte[] data = ContentDelta.deflate(raw);
+        return PostRevision.builder()
+                .postId(postId)
+                .revision(revision)
+                .kind(RevisionKind.SNAPSHOT)
+                .title(title)
+                .contentLength(raw.length)
+                .storedBytes(data.length)
+                .data(data)
+                .build();
+    }
+
+    private void checkAuthor(UUID postId, UUID userId) throws AccessDeniedException {
+        Post post = postRepository.findByIdAndStatusNot(postId, PostStatus.DELETED).orElseThrow(() -> new EntityNotFoundException("Post not found"));
+        if (!post.getAuthor().getId().equals(userId)) {
+            throw new AccessDeniedException("您没有权限查看这篇文章的历史版本");
+        }
+    }
+}
@@ -1,27 +1,44 @@
 package com.Away.blog.services.impl;
 
+import com.Away.blog.domain.ContentFormat;
 import com.Away.blog.domain.CreatePostRequest;
+import com.Away.blog.domain.CursorPage;
+import com.Away.blog.domain.FieldSelection;
+import com.Away.blog.domain.GroupedPostCount;
+import com.Away.blog.domain.PatchPostRequest;
+import com.Away.blog.domain.PostCounts;
+import com.Away.blog.domain.PostCursor;
+import com.Away.blog.domain.PostQuery;
 import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostSummary;
 import com.Away.blog.domain.UpdatePostRequest;
 import com.Away.blog.domain.entity.Category;
 import com.Away.blog.domain.entity.Post;
 import com.Away.blog.domain.entity.Tag;
 import com.Away.blog.domain.entity.User;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.domain.events.PostRenderRequestedEvent;
 import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.security.BlogUserDetails;
 import com.Away.blog.services.*;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,52 +50,135 @@ public class PostServiceImpl implements PostService {
     private final TagService tagService;
     private static final int WORDS_PER_MINUTE = 300;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostRevisionService postRevisionService;
+    private final PostRenderService postRenderService;
 
+    @Value("${blog.posts.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${blog.posts.max-batch-size:100}")
+    private int maxBatchSize;
 
     @Override
     public Post getPost(UUID id) {
-        return  postRepository.findById(id).orElseThrow(()->new EntityNotFoundException("Post not found"));
+        return  postRepository.findByIdAndStatusNot(id, PostStatus.DELETED)
+                .orElseThrow(()->new EntityNotFoundException("Post not found"));
+    }
+
+    // 编辑时锁住文章行：同一篇文章的并发编辑依次执行，版本号和差量的基准都是上一次提交后的内容
+    private Post getPostForUpdate(UUID id) {
+        return postRepository.findByIdForUpdate(id)
+                .filter(post -> post.getStatus() != PostStatus.DELETED)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found"));
+    }
+
+    // 一条 IN 查询连同作者、分类、标签一起取出，不存在或已删除的 id 不在结果里
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Post> getPosts(Collection<UUID> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new IllegalArgumentException("at most " + maxBatchSize + " ids per request");
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return postRepository.findDetailedByIdInAndStatusNot(ids, PostStatus.DELETED).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+    }
+
+    // 分类和标签各一条分组查询，代替逐个加载它们的 posts 集合来计数
+    @Override
+    public PostCounts getPublishedPostCounts(Collection<Post> posts) {
+        Set<UUID> categoryIds = posts.stream().map(post -> post.getCategory().getId()).collect(Collectors.toSet());
+        Set<UUID> tagIds = posts.stream().flatMap(post -> post.getTags().stream()).map(Tag::getId)
+                .collect(Collectors.toSet());
+        return new PostCounts(
+                categoryIds.isEmpty() ? Map.of() : toMap(postRepository.countByCategoryIds(categoryIds, PostStatus.PUBLISHED)),
+                tagIds.isEmpty() ? Map.of() : toMap(postRepository.countByTagIds(tagIds, PostStatus.PUBLISHED)));
+    }
+
+    private static Map<UUID, Long> toMap(List<GroupedPostCount> counts) {
+        return counts.stream().collect(Collectors.toMap(GroupedPostCount::getGroupId, GroupedPostCount::getPostCount));
     }
 
     @Override
+    @Transactional
     public void deletePost(UUID id) throws AccessDeniedException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName();
-        User user = userService.findUserByEmail(currentUsername);
         Post post = getPost(id);
-        if (!user.getId().equals(post.getAuthor().getId())) {
-            throw new AccessDeniedException("您没有权限删除这篇文章");
-        }
-        postRepository.delete(post);
+        checkAuthor(post, "您没有权限删除这篇文章");
+        // 只做软删除，评论等关联数据由 PostPurgeService 在提交后分批清理
+        PostStatus previousStatus = post.getStatus();
+        post.setStatus(PostStatus.DELETED);
+        eventPublisher.publishEvent(PostChangedEvent.builder()
+                .postId(id)
+                .authorId(post.getAuthor().getId())
+                .createdAt(post.getCreatedAt())
+                .type(PostChangedEvent.Type.DELETED)
+                .previousStatus(previousStatus)
+                .status(PostStatus.DELETED)
+                .previousCategoryId(post.getCategory().getId())
+                .build());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Post> getAllPosts(UUID categoryId, UUID tagId) {
+    public List<Post> getAllPosts(UUID categoryId, UUID tagId, FieldSelection fields) {
+        if (!fields.isAll()) {
+            // 只要部分字段时只查选中的列，分类和标签仍先校验存在
+            if (categoryId != null) {
+                categoryService.findCategoryById(categoryId);
+            }
+            if (tagId != null) {
+                tagService.findTagById(tagId);
+            }
+            return postRepository.findPartialPosts(PostStatus.PUBLISHED, null, categoryId, tagId, fields);
+        }
         if(categoryId != null && tagId != null){
             Category category = categoryService.findCategoryById(categoryId);
             Tag tag = tagService.findTagById(tagId);
-            return postRepository.findAllByStatusAndCategoryAndTagsContaining(
+            return postRepository.findAllByStatusAndCategoryAndTagsContainingOrderByCreatedAtDesc(
                     PostStatus.PUBLISHED, category, tag
             );
         }
         if (categoryId != null) {
             Category category = categoryService.findCategoryById(categoryId);
-            return postRepository.findAllByStatusAndCategory(
+            return postRepository.findAllByStatusAndCategoryOrderByCreatedAtDesc(
                     PostStatus.PUBLISHED, category);
         }
         if(tagId != null) {
             Tag tag = tagService.findTagById(tagId);
-            return postRepository.findAllByStatusAndTagsContaining(
+            return postRepository.findAllByStatusAndTagsContainingOrderByCreatedAtDesc(
                     PostStatus.PUBLISHED, tag
             );
         }
-        return postRepository.findAllByStatus(PostStatus.PUBLISHED);
+        return postRepository.findAllByStatusOrderByCreatedAtDesc(PostStatus.PUBLISHED);
     }
 
     @Override
-    public List<Post> getDrafts(User user) {
-        return postRepository.findDraftsByAuthorAndStatus(user, PostStatus.DRAFT);
+    public List<Post> getDrafts(User user, FieldSelection fields) {
+        if (!fields.isAll()) {
+            return postRepository.findPartialPosts(PostStatus.DRAFT, user.getId(), null, null, fields);
+        }
+        return postRepository.findDraftsByAuthorAndStatusOrderByCreatedAtDesc(user, PostStatus.DRAFT);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummary> queryPosts(PostQuery query) {
+        if (query.getLimit() < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        int size = Math.min(query.getLimit(), maxPageSize);
+        PostCursor after = PostCursor.decode(query.getCursor(), query.getSort(), query.getDirection());
+        // 多取一条用来判断是否还有下一页
+        List<PostSummary> posts = postRepository.findSummaries(query, after, size + 1);
+        if (posts.size() <= size) {
+            return new CursorPage<>(posts, null);
+        }
+        List<PostSummary> items = posts.subList(0, size);
+        return new CursorPage<>(items,
+                PostCursor.after(query.getSort(), query.getDirection(), items.get(size - 1)).encode());
     }
 
     @Override
@@ -89,30 +189,45 @@ public class PostServiceImpl implements PostService {
         newpost.setCategory(categoryService.findCategoryById(createPostRequest.getCategoryId()));
         newpost.setTitle(createPostRequest.getTitle());
         newpost.setContent(createPostRequest.getContent());
-        newpost.setStatus(createPostRequest.getStatus());
+        newpost.setFormat(createPostRequest.getFormat() != null ? createPostRequest.getFormat() : ContentFormat.HTML);
+        newpost.setStatus(requireSettableStatus(createPostRequest.getStatus()));
         newpost.setReadingTime(calculateReadingTime(createPostRequest.getContent()));
         Set<UUID> tagIds = createPostRequest.getTagIds();
         List<Tag> tags = tagService.findTagByIds(tagIds);
         newpost.setTags(new HashSet<>(tags));
-        return postRepository.save(newpost);
+        boolean renderDeferred = postRenderService.render(newpost);
+        Post savedPost = postRepository.save(newpost);
+        if (renderDeferred) {
+            eventPublisher.publishEvent(new PostRenderRequestedEvent(savedPost.getId()));
+        }
+        postRevisionService.recordRevision(savedPost, null, null);
+        eventPublisher.publishEvent(PostChangedEvent.builder()
+                .postId(savedPost.getId())
+                .authorId(savedPost.getAuthor().getId())
+                .createdAt(savedPost.getCreatedAt())
+                .type(PostChangedEvent.Type.CREATED)
+                .status(savedPost.getStatus())
+                .categoryId(savedPost.getCategory().getId())
+                .build());
+        return savedPost;
     }
 
     @Override
     @Transactional
     public Post updatePost(UUID id, UpdatePostRequest updatePostRequest) throws AccessDeniedException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName();
-        User currentUser = userService.findUserByEmail(currentUsername);
-        Post post = getPost(id);
-        if (!currentUser.getId().equals(post.getAuthor().getId())) {
-            throw new AccessDeniedException("您没有权限编辑这篇文章");
-        }
-        Post existingPost = postRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("post with id " + id + " not found")
-        );
+        Post existingPost = getPostForUpdate(id);
+        checkAuthor(existingPost, "您没有权限编辑这篇文章");
+        PostStatus previousStatus = existingPost.getStatus();
+        UUID previousCategoryId = existingPost.getCategory().getId();
+        String previousTitle = existingPost.getTitle();
+        String previousContent = existingPost.getContent();
+        ContentFormat previousFormat = existingPost.getFormat();
         existingPost.setTitle(updatePostRequest.getTitle());
         existingPost.setContent(updatePostRequest.getContent());
-        existingPost.setStatus(updatePostRequest.getStatus());
+        if (updatePostRequest.getFormat() != null) {
+            existingPost.setFormat(updatePostRequest.getFormat());
+        }
+        existingPost.setStatus(requireSettableStatus(updatePostRequest.getStatus()));
         existingPost.setReadingTime(calculateReadingTime(updatePostRequest.getContent()));
 
         UUID updatePostRequestCategoryId = updatePostRequest.getCategoryId();
@@ -123,13 +238,110 @@ public class PostServiceImpl implements PostService {
 
         Set<UUID> existingTagIds = existingPost.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
         Set<UUID> tagIdSet = updatePostRequest.getTagIds();
-        if(!existingTagIds.equals(tagIdSet)){
+        boolean tagsChanged = !existingTagIds.equals(tagIdSet);
+        if(tagsChanged){
             List<Tag> newTags = tagService.findTagByIds(tagIdSet);
             existingPost.setTags(new HashSet<>(newTags));
         }
-        return postRepository.save(existingPost);
+        boolean renderDeferred = (!previousContent.equals(existingPost.getContent())
+                || previousFormat != existingPost.getFormat()) && postRenderService.render(existingPost);
+        Post savedPost = postRepository.save(existingPost);
+        if (renderDeferred) {
+            eventPublisher.publishEvent(new PostRenderRequestedEvent(id));
+        }
+        if (!previousTitle.equals(savedPost.getTitle()) || !previousContent.equals(savedPost.getContent())) {
+            postRevisionService.recordRevision(savedPost, previousTitle, previousContent);
+        }
+        eventPublisher.publishEvent(PostChangedEvent.builder()
+                .postId(id)
+                .authorId(existingPost.getAuthor().getId())
+                .createdAt(existingPost.getCreatedAt())
+                .type(PostChangedEvent.Type.UPDATED)
+                .previousStatus(previousStatus)
+                .status(savedPost.getStatus())
+                .previousCategoryId(previousCategoryId)
+                .categoryId(savedPost.getCategory().getId())
+                .tagsChanged(tagsChanged)
+                .build());
+        return savedPost;
     }
 
+    @Override
+    @Transactional
+    public Post patchPost(UUID id, PatchPostRequest patchPostRequest) throws AccessDeniedException {
+        Post existingPost = getPostForUpdate(id);
+        checkAuthor(existingPost, "您没有权限编辑这篇文章");
+        PostStatus previousStatus = existingPost.getStatus();
+        UUID previousCategoryId = existingPost.getCategory().getId();
+        String previousTitle = existingPost.getTitle();
+        String previousContent = existingPost.getContent();
+        ContentFormat previousFormat = existingPost.getFormat();
+
+        if (patchPostRequest.getTitle() != null) {
+            existingPost.setTitle(patchPostRequest.getTitle());
+        }
+        if (patchPostRequest.getContent() != null && !patchPostRequest.getContent().equals(existingPost.getContent())) {
+            existingPost.setContent(patchPostRequest.getContent());
+            existingPost.setReadingTime(calculateReadingTime(patchPostRequest.getContent()));
+        }
+        if (patchPostRequest.getFormat() != null) {
+            existingPost.setFormat(patchPostRequest.getFormat());
+        }
+        if (patchPostRequest.getStatus() != null) {
+            existingPost.setStatus(requireSettableStatus(patchPostRequest.getStatus()));
+        }
+        UUID categoryId = patchPostRequest.getCategoryId();
+        if (categoryId != null && !categoryId.equals(previousCategoryId)) {
+            existingPost.setCategory(categoryService.findCategoryById(categoryId));
+        }
+        boolean tagsChanged = false;
+        Set<UUID> tagIds = patchPostRequest.getTagIds();
+        if (tagIds != null) {
+            Set<UUID> existingTagIds = existingPost.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+            tagsChanged = !existingTagIds.equals(tagIds);
+            if (tagsChanged) {
+                existingPost.setTags(new HashSet<>(tagService.findTagByIds(tagIds)));
+            }
+        }
+        if (!previousTitle.equals(existingPost.getTitle()) || !previousContent.equals(existingPost.getContent())) {
+            postRevisionService.recordRevision(existingPost, previousTitle, previousContent);
+        }
+        if ((!previousContent.equals(existingPost.getContent()) || previousFormat != existingPost.getFormat())
+                && postRenderService.render(existingPost)) {
+            eventPublisher.publishEvent(new PostRenderRequestedEvent(id));
+        }
+        // 实体处于托管状态，提交时由脏检查配合 @DynamicUpdate 只更新变化的列
+        eventPublisher.publishEvent(PostChangedEvent.builder()
+                .postId(id)
+                .authorId(existingPost.getAuthor().getId())
+                .createdAt(existingPost.getCreatedAt())
+                .type(PostChangedEvent.Type.UPDATED)
+                .previousStatus(previousStatus)
+                .status(existingPost.getStatus())
+                .previousCategoryId(previousCategoryId)
+                .categoryId(existingPost.getCategory().getId())
+                .tagsChanged(tagsChanged)
+                .build());
+        return existingPost;
+    }
+
+    // DELETED 只能通过删除接口进入
+    private static PostStatus requireSettableStatus(PostStatus status) {
+        if (status == PostStatus.DELETED) {
+            throw new IllegalArgumentException("Post status can not be set to DELETED");
+        }
+        return status;
+    }
+
+    private void checkAuthor(Post post, String message) throws AccessDeniedException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UUID currentUserId = authentication.getPrincipal() instanceof BlogUserDetails userDetails
+                ? userDetails.getId()
+                : userService.findUserByEmail(authentication.getName()).getId();
+        if (!currentUserId.equals(post.getAuthor().getId())) {
+            throw new AccessDeniedException(message);
+        }
+    }
 
     public static int calculateReadingTime(String content) {
         if (content == null || content.isEmpty()) {
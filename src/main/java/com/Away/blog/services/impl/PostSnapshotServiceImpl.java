@@ -0,0 +1,237 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.DomainEventType;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.RenderedDocument;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.domain.events.CategoryRenamedEvent;
+import com.Away.blog.domain.events.DomainEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.PostSnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.DocumentType;
+import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 已发布文章的完整 HTML 快照：标题、meta/Open Graph、JSON-LD 和渲染好的正文都在首个响应里，
+ * 爬虫不需要执行 JS，浏览器首屏也不用等接口。打包了前端时会带上它的脚本，加载后由 React 接管。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSnapshotServiceImpl implements PostSnapshotService {
+
+    private static final String SITE_NAME = "My Blog";
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${blog.site-url:http://localhost:5173}")
+    private String siteUrl;
+
+    @Value("${blog.frontend.location:classpath:/static/}")
+    private String frontendLocation;
+
+    @Value("${blog.snapshot.cache-size:2000}")
+    private int cacheSize;
+
+    // 按访问顺序排列，超出容量时淘汰最久未访问的快照；读写都在 this 上同步
+    private final Map<UUID, RenderedDocument> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, RenderedDocument> eldest) {
+            return size() > cacheSize;
+        }
+    };
+    // 每次失效加一；渲染前后不一致说明期间有文章变化，渲染结果可能已经过期，不放进缓存
+    private long generation;
+    // 前端构建产物在运行期不会变化，index.html 里的脚本和样式只解析一次
+    private volatile List<Element> frontendAssets;
+
+    @Override
+    public RenderedDocument getSnapshot(UUID postId) {
+        long loadedAt;
+        synchronized (this) {
+            RenderedDocument cached = snapshots.get(postId);
+            if (cached != null) {
+                return cached;
+            }
+            loadedAt = generation;
+        }
+        Post post = postRepository.findDetailedByIdAndStatus(postId, PostStatus.PUBLISHED)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId));
+        RenderedDocument snapshot = render(post);
+        // 大文章在后台渲染，正文还没生成时不缓存，下次请求再生成
+        if (post.getRenderedHtml() != null) {
+            synchronized (this) {
+                if (generation == loadedAt) {
+                    snapshots.put(postId, snapshot);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isPublicChange()) {
+            synchronized (this) {
+                generation++;
+                snapshots.remove(event.getPostId());
+            }
+        }
+    }
+
+    // 快照里有分类名，缓存里不知道哪些文章属于这个分类，改名很少，直接全部丢弃
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryRenamed(CategoryRenamedEvent event) {
+        synchronized (this) {
+            generation++;
+            snapshots.clear();
+        }
+    }
+
+    // 发布或更新后由发件箱在后台投递过来，立即生成，首个访问者不用等渲染；
+    // 在投递线程上同步生成，同一篇文章的多次更新按顺序处理，失败时由发件箱退避后重投
+    @EventListener
+    public void prerender(DomainEvent<PostChangedEvent> event) {
+        if (event.getType() == DomainEventType.POST_DELETED || event.getPayload().getStatus() != PostStatus.PUBLISHED) {
+            return;
+        }
+        try {
+            getSnapshot(event.getAggregateId());
+        } catch (EntityNotFoundException e) {
+            log.debug("Post {} is no longer published, skipped snapshot", event.getAggregateId());
+        }
+    }
+
+    private RenderedDocument render(Post post) {
+        String url = siteUrl + "/p/" + post.getId();
+        Document document = Document.createShell(url);
+        document.outputSettings().prettyPrint(false).charset(StandardCharsets.UTF_8);
+        document.prependChild(new DocumentType("html", "", ""));
+        document.selectFirst("html").attr("lang", "zh-CN");
+
+        Element head = document.head();
+        head.appendElement("meta").attr("charset", "UTF-8");
+        head.appendElement("meta").attr("name", "viewport").attr("content", "width=device-width, initial-scale=1.0");
+        head.appendElement("title").text(post.getTitle() + " - " + SITE_NAME);
+        head.appendElement("link").attr("rel", "canonical").attr("href", url);
+        if (post.getExcerpt() != null) {
+            meta(head, "name", "description", post.getExcerpt());
+            meta(head, "property", "og:description", post.getExcerpt());
+        }
+        meta(head, "property", "og:type", "article");
+        meta(head, "property", "og:site_name", SITE_NAME);
+        meta(head, "property", "og:title", post.getTitle());
+        meta(head, "property", "og:url", url);
+        meta(head, "property", "article:published_time", format(post.getCreatedAt()));
+        meta(head, "property", "article:modified_time", format(post.getUpdatedAt()));
+        meta(head, "property", "article:author", post.getAuthor().getName());
+        meta(head, "property", "article:section", post.getCategory().getName());
+        for (Tag tag : post.getTags()) {
+            meta(head, "property", "article:tag", tag.getName());
+        }
+        // JSON 里的 "<" 转义，正文中出现 "</script>" 也不会提前结束脚本
+        head.appendElement("script").attr("type", "application/ld+json")
+                .appendChild(new DataNode(jsonLd(post, url).replace("<", "\\u003c")));
+        for (Element asset : frontendAssets()) {
+            head.appendChild(asset.clone());
+        }
+
+        // React 挂载到 #root 时会替换掉这里的静态内容
+        Element article = document.body().appendElement("div").attr("id", "root").appendElement("article");
+        article.appendElement("h1").text(post.getTitle());
+        article.appendElement("p").text(post.getAuthor().getName() + " · "
+                + post.getCreatedAt().toLocalDate() + " · " + post.getCategory().getName());
+        if (post.getRenderedHtml() != null) {
+            article.appendElement("div").html(post.getRenderedHtml());
+        }
+
+        byte[] body = document.outerHtml().getBytes(StandardCharsets.UTF_8);
+        return RenderedDocument.of(body, post.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private String jsonLd(Post post, String url) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("@context", "https://schema.org");
+        data.put("@type", "BlogPosting");
+        data.put("headline", post.getTitle());
+        if (post.getExcerpt() != null) {
+            data.put("description", post.getExcerpt());
+        }
+        data.put("url", url);
+        data.put("mainEntityOfPage", url);
+        data.put("datePublished", format(post.getCreatedAt()));
+        data.put("dateModified", format(post.getUpdatedAt()));
+        data.put("author", Map.of("@type", "Person", "name", post.getAuthor().getName()));
+        data.put("articleSection", post.getCategory().getName());
+        data.put("keywords", post.getTags().stream().map(Tag::getName).sorted().toList());
+        if (post.getWordCount() != null) {
+            data.put("wordCount", post.getWordCount());
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize JSON-LD", e);
+        }
+    }
+
+    private List<Element> frontendAssets() {
+        List<Element> assets = frontendAssets;
+        if (assets != null) {
+            return assets;
+        }
+        Resource index = resourceLoader.getResource(frontendLocation + "index.html");
+        if (!index.exists()) {
+            assets = List.of();
+        } else {
+            try (InputStream in = index.getInputStream()) {
+                assets = List.copyOf(Jsoup.parse(in, StandardCharsets.UTF_8.name(), "")
+                        .head().select("script[type=module][src], link[rel=stylesheet], link[rel=modulepreload], link[rel=icon]"));
+            } catch (IOException e) {
+                log.warn("Failed to read frontend index.html, snapshots will not load the app", e);
+                assets = List.of();
+            }
+        }
+        frontendAssets = assets;
+        return assets;
+    }
+
+    private static void meta(Element head, String keyAttribute, String key, String content) {
+        head.appendElement("meta").attr(keyAttribute, key).attr("content", content);
+    }
+
+    private static String format(LocalDateTime time) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(time.atZone(ZoneId.systemDefault()));
+    }
+}
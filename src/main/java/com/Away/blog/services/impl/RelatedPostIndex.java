@@ -0,0 +1,182 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.PostTagLink;
+import lombok.Value;
+
+import java.util.*;
+
+/**
+ * 基于标签倒排表（posting list）的相关文章索引，非线程安全，由调用方加锁。
+ * 每个标签只保存一个有序的 int 数组，文章用连续的序号表示，避免为每对文章建立对象。
+ */
+final class RelatedPostIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<UUID, Integer> postOrdinals = new HashMap<>();
+    private final List<UUID> postIds = new ArrayList<>();
+    private final List<int[]> postTags = new ArrayList<>();
+    private int[] postCategories = new int[16];
+
+    private final Map<UUID, Integer> tagOrdinals = new HashMap<>();
+    private final List<int[]> tagPostings = new ArrayList<>();
+    private final Map<UUID, Integer> categoryOrdinals = new HashMap<>();
+
+    private int[] scratch = EMPTY;
+
+    static RelatedPostIndex build(List<PostTagLink> links) {
+        Map<UUID, UUID> categories = new LinkedHashMap<>();
+        Map<UUID, Set<UUID>> tags = new HashMap<>();
+        for (PostTagLink link : links) {
+            categories.put(link.getPostId(), link.getCategoryId());
+            Set<UUID> postTagIds = tags.computeIfAbsent(link.getPostId(), id -> new HashSet<>());
+            if (link.getTagId() != null) {
+                postTagIds.add(link.getTagId());
+            }
+        }
+        RelatedPostIndex index = new RelatedPostIndex();
+        categories.forEach((postId, categoryId) -> index.put(postId, categoryId, tags.get(postId)));
+        return index;
+    }
+
+    Collection<UUID> postIds() {
+        List<UUID> live = new ArrayList<>(postOrdinals.size());
+        for (int i = 0; i < postIds.size(); i++) {
+            if (postCategories[i] >= 0) {
+                live.add(postIds.get(i));
+            }
+        }
+        return live;
+    }
+
+    /**
+     * 写入或替换一篇文章的标签，返回受影响（新旧标签下所有）文章的 id，包括该文章本身。
+     */
+    Set<UUID> put(UUID postId, UUID categoryId, Collection<UUID> tagIds) {
+        Integer existing = postOrdinals.get(postId);
+        int post = existing != null ? existing : append(postId);
+        Set<UUID> affected = new HashSet<>();
+        affected.add(postId);
+
+        for (int tag : postTags.get(post)) {
+            int[] postings = tagPostings.get(tag);
+            collect(postings, affected);
+            tagPostings.set(tag, removeSorted(postings, post));
+        }
+
+        int[] newTags = tagIds.stream().mapToInt(this::tagOrdinal).distinct().sorted().toArray();
+        postTags.set(post, newTags);
+        postCategories[post] = categoryOrdinals.computeIfAbsent(categoryId, id -> categoryOrdinals.size());
+        for (int tag : newTags) {
+            int[] postings = insertSorted(tagPostings.get(tag), post);
+            tagPostings.set(tag, postings);
+            collect(postings, affected);
+        }
+        return affected;
+    }
+
+    Set<UUID> remove(UUID postId) {
+        if (!postOrdinals.containsKey(postId)) {
+            return Set.of(postId);
+        }
+        Set<UUID> affected = put(postId, null, List.of());
+        postCategories[postOrdinals.get(postId)] = -1;
+        return affected;
+    }
+
+    /**
+     * 计算一篇文章的前 limit 个相关文章：标签 Jaccard 相似度与同分类加权之和。
+     * 只遍历该文章所含标签的倒排表，复杂度与共享标签的文章数成正比。
+     */
+    List<Neighbour> neighbours(UUID postId, int limit, double categoryWeight) {
+        Integer ordinal = postOrdinals.get(postId);
+        if (ordinal == null || postCategories[ordinal] < 0) {
+            return List.of();
+        }
+        int post = ordinal;
+        if (scratch.length < postIds.size()) {
+            scratch = new int[Math.max(postIds.size(), scratch.length * 2)];
+        }
+        int[] tags = postTags.get(post);
+        List<Integer> touched = new ArrayList<>();
+        for (int tag : tags) {
+            for (int other : tagPostings.get(tag)) {
+                if (other != post && scratch[other]++ == 0) {
+                    touched.add(other);
+                }
+            }
+        }
+
+        PriorityQueue<Neighbour> top = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::getScore));
+        for (int other : touched) {
+            int shared = scratch[other];
+            scratch[other] = 0;
+            double jaccard = (double) shared / (tags.length + postTags.get(other).length - shared);
+            double sameCategory = postCategories[other] == postCategories[post] ? 1.0 : 0.0;
+            double score = (1 - categoryWeight) * jaccard + categoryWeight * sameCategory;
+            if (top.size() < limit) {
+                top.add(new Neighbour(postIds.get(other), score));
+            } else if (top.peek().getScore() < score) {
+                top.poll();
+                top.add(new Neighbour(postIds.get(other), score));
+            }
+        }
+        List<Neighbour> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(Neighbour::getScore).reversed());
+        return result;
+    }
+
+    private int append(UUID postId) {
+        int post = postIds.size();
+        postOrdinals.put(postId, post);
+        postIds.add(postId);
+        postTags.add(EMPTY);
+        if (post == postCategories.length) {
+            postCategories = Arrays.copyOf(postCategories, post * 2);
+        }
+        return post;
+    }
+
+    private int tagOrdinal(UUID tagId) {
+        return tagOrdinals.computeIfAbsent(tagId, id -> {
+            tagPostings.add(EMPTY);
+            return tagPostings.size() - 1;
+        });
+    }
+
+    private void collect(int[] postings, Set<UUID> target) {
+        for (int post : postings) {
+            target.add(postIds.get(post));
+        }
+    }
+
+    private static int[] insertSorted(int[] postings, int post) {
+        int position = Arrays.binarySearch(postings, post);
+        if (position >= 0) {
+            return postings;
+        }
+        position = -position - 1;
+        int[] result = new int[postings.length + 1];
+        System.arraycopy(postings, 0, result, 0, position);
+        result[position] = post;
+        System.arraycopy(postings, position, result, position + 1, postings.length - position);
+        return result;
+    }
+
+    private static int[] removeSorted(int[] postings, int post) {
+        int position = Arrays.binarySearch(postings, post);
+        if (position < 0) {
+            return postings;
+        }
+        int[] result = new int[postings.length - 1];
+        System.arraycopy(postings, 0, result, 0, position);
+        System.arraycopy(postings, position + 1, result, position, postings.length - position - 1);
+        return result;
+    }
+
+    @Value
+    static class Neighbour {
+        UUID postId;
+        double score;
+    }
+}
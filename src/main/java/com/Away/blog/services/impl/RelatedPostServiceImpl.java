@@ -0,0 +1,147 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.PostTagLink;
+import com.Away.blog.domain.entity.RelatedPost;
+import com.Away.blog.domain.events.DomainEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.repositories.RelatedPostRepository;
+import com.Away.blog.services.RelatedPostService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RelatedPostServiceImpl implements RelatedPostService {
+
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private final PostRepository postRepository;
+    private final RelatedPostRepository relatedPostRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${blog.related-posts.size:6}")
+    private int neighbourCount;
+
+    @Value("${blog.related-posts.category-weight:0.2}")
+    private double categoryWeight;
+
+    private RelatedPostIndex index;
+
+    @Override
+    public List<RelatedPost> getRelatedPosts(UUID postId) {
+        return relatedPostRepository.findByPostId(postId, PostStatus.PUBLISHED);
+    }
+
+    /**
+     * 全量重建按文章分批进行，每批在自己的事务里删除并重写这些文章的推荐，读者始终能看到旧的或新的推荐，
+     * 不会看到空表。重建和增量更新共用一把锁，锁在事务之外获取、提交之后释放，两者不会交错覆盖。
+     */
+    @Override
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${blog.related-posts.rebuild-cron:0 0 3 * * *}")
+    public void rebuildIndex() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            RelatedPostIndex rebuilt = RelatedPostIndex.build(postRepository.findTagLinksByStatus(PostStatus.PUBLISHED));
+            List<UUID> postIds = List.copyOf(rebuilt.postIds());
+            for (int from = 0; from < postIds.size(); from += REBUILD_BATCH_SIZE) {
+                List<UUID> batch = postIds.subList(from, Math.min(from + REBUILD_BATCH_SIZE, postIds.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    relatedPostRepository.deleteByPostIdIn(batch);
+                    writeNeighbours(rebuilt, batch);
+                });
+            }
+            // 已不再发布的文章留下的推荐
+            transactionTemplate.executeWithoutResult(status ->
+                    relatedPostRepository.deleteWherePostStatusNot(PostStatus.PUBLISHED));
+            index = rebuilt;
+            log.info("Related posts index rebuilt in {} ms", System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 由发件箱在投递线程上送达，同一篇文章的变更按顺序处理；处理按数据库的当前状态重算，重投也无妨。
+     * 失败时作废内存索引并抛出异常，发件箱退避后重投，那时全量重建。
+     */
+    @EventListener
+    public void onPostChanged(DomainEvent<PostChangedEvent> domainEvent) {
+        PostChangedEvent event = domainEvent.getPayload();
+        if (event.getType() == PostChangedEvent.Type.UPDATED
+                && !event.isTagsChanged() && !event.isCategoryChanged() && !event.isStatusChanged()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (index == null) {
+                // 启动时的全量构建还没完成，或上次增量更新失败作废了索引；构建会读到这次提交的数据
+                rebuildIndex();
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> refresh(event.getPostId()));
+            } catch (RuntimeException e) {
+                // refresh 已经改了内存索引，事务回滚后两边不一致
+                index = null;
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refresh(UUID postId) {
+        List<PostTagLink> links = postRepository.findTagLinksByIdAndStatus(postId, PostStatus.PUBLISHED);
+        Set<UUID> affected;
+        if (links.isEmpty()) {
+            affected = index.remove(postId);
+        } else {
+            List<UUID> tagIds = links.stream().map(PostTagLink::getTagId).filter(Objects::nonNull).toList();
+            affected = index.put(postId, links.get(0).getCategoryId(), tagIds);
+        }
+        relatedPostRepository.deleteByPostIdIn(affected);
+        writeNeighbours(index, affected);
+        log.debug("Refreshed related posts of {} posts after change of {}", affected.size(), postId);
+    }
+
+    private void writeNeighbours(RelatedPostIndex source, Collection<UUID> postIds) {
+        int pending = 0;
+        for (UUID postId : postIds) {
+            int position = 0;
+            for (RelatedPostIndex.Neighbour neighbour : source.neighbours(postId, neighbourCount, categoryWeight)) {
+                entityManager.persist(RelatedPost.builder()
+                        .postId(postId)
+                        .relatedPost(postRepository.getReferenceById(neighbour.getPostId()))
+                        .position(position++)
+                        .score(neighbour.getScore())
+                        .build());
+                if (++pending % WRITE_BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,463 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.PostSitemapEntry;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.RenderedDocument;
+import com.Away.blog.domain.SitemapShard;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.services.SitemapService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SitemapServiceImpl implements SitemapService {
+
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final int PAGE_SIZE = 1000;
+
+    // 与数据库中 BINARY(16) 的逐字节无符号比较保持一致，UUID.compareTo 是有符号比较
+    static final Comparator<UUID> BINARY_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private final PostRepository postRepository;
+
+    @Value("${blog.site-url:http://localhost:5173}")
+    private String siteUrl;
+
+    @Value("${blog.sitemap.shard-size:50000}")
+    private int shardSize;
+
+    @Value("${blog.sitemap.directory:${java.io.tmpdir}/blog-sitemaps}")
+    private String directory;
+
+    private volatile List<SitemapShard> shards;
+    private volatile RenderedDocument index;
+    // 提交后变化的文章 id，下次访问时定位到所在分片并只重写这些分片
+    private final Queue<UUID> pendingChanges = new ConcurrentLinkedQueue<>();
+    // 上一次替换下来的分片文件，可能还有响应在读，下一次替换时再删除
+    private List<Path> retiredFiles = List.of();
+
+    @Override
+    public RenderedDocument getIndex() {
+        RenderedDocument current = index;
+        if (current != null && pendingChanges.isEmpty()) {
+            return current;
+        }
+        synchronized (this) {
+            refresh();
+            return index;
+        }
+    }
+
+    @Override
+    public SitemapShard getShard(int number) {
+        List<SitemapShard> current = shards;
+        if (current != null && pendingChanges.isEmpty() && number >= 1 && number <= current.size()) {
+            return current.get(number - 1);
+        }
+        synchronized (this) {
+            refresh();
+            if (number < 1 || number > shards.size()) {
+                throw new EntityNotFoundException("Sitemap not found: " + number);
+            }
+            return shards.get(number - 1);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warmUp() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isPublicChange()) {
+            pendingChanges.add(event.getPostId());
+        }
+    }
+
+    private void refresh() {
+        if (shards == null) {
+            pendingChanges.clear();
+            deleteLeftoverFiles();
+            rebuildAll();
+            return;
+        }
+        Set<Integer> dirty = new HashSet<>();
+        for (UUID postId = pendingChanges.poll(); postId != null; postId = pendingChanges.poll()) {
+            for (SitemapShard shard : shards) {
+                if (contains(shard, postId)) {
+                    dirty.add(shard.getNumber());
+                    break;
+                }
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        // 先把所有要换的分片写成新文件，全部成功后再和索引一起替换
+        List<SitemapShard> refreshed = new ArrayList<>(shards);
+        List<SitemapShard> written = new ArrayList<>();
+        try {
+            for (int i = 0; i < refreshed.size(); i++) {
+                SitemapShard shard = refreshed.get(i);
+                if (!dirty.contains(shard.getNumber())) {
+                    continue;
+                }
+                List<SitemapShard> rewritten = writeShards(shard.getFromId(), shard.getToId(), shard.getNumber());
+                written.addAll(rewritten);
+                if (rewritten.size() != 1) {
+                    // 区间内文章超过单个文件上限，重新整体切分
+                    deleteFiles(written);
+                    rebuildAll();
+                    return;
+                }
+                refreshed.set(i, rewritten.get(0));
+            }
+        } catch (RuntimeException e) {
+            deleteFiles(written);
+            throw e;
+        }
+        publish(refreshed);
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<SitemapShard> rebuilt = writeShards(null, null, 1);
+        publish(rebuilt);
+        log.info("Sitemap rebuilt into {} shards in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 分片文件名每次都不同，替换只是切换内存里的分片列表和索引，读者看到的索引和分片总是同一批。
+     * 内容与同编号的旧分片相同时沿用旧的修改时间，否则记为重写时间，并且严格晚于旧值，
+     * 移除文章或文章在分片间移动时 Last-Modified 也不会回退，条件请求不会错误地得到 304。
+     */
+    private void publish(List<SitemapShard> written) {
+        List<SitemapShard> previous = shards;
+        List<SitemapShard> next = new ArrayList<>(written.size());
+        for (SitemapShard shard : written) {
+            SitemapShard old = previous != null && shard.getNumber() <= previous.size()
+                    ? previous.get(shard.getNumber() - 1) : null;
+            Instant lastModified = old == null ? shard.getLastModified()
+                    : old.getEtag().equals(shard.getEtag()) ? old.getLastModified() : rewrittenAt(old.getLastModified());
+            next.add(shard.toBuilder().lastModified(lastModified).build());
+        }
+        RenderedDocument nextIndex = renderIndex(next);
+        RenderedDocument previousIndex = index;
+        if (previousIndex != null) {
+            if (previousIndex.getEtag().equals(nextIndex.getEtag())) {
+                nextIndex = previousIndex;
+            } else if (!nextIndex.getLastModified().isAfter(previousIndex.getLastModified())) {
+                nextIndex = RenderedDocument.of(nextIndex.getBody(), rewrittenAt(previousIndex.getLastModified()));
+            }
+        }
+        shards = List.copyOf(next);
+        index = nextIndex;
+        retiredFiles.forEach(SitemapServiceImpl::deleteQuietly);
+        if (previous == null) {
+            retiredFiles = List.of();
+            return;
+        }
+        Set<Path> live = new HashSet<>();
+        next.forEach(shard -> live.add(shard.getFile()));
+        retiredFiles = previous.stream().map(SitemapShard::getFile).filter(file -> !live.contains(file)).toList();
+    }
+
+    /**
+     * 按 id 键集分页流式读取 (fromId, toId] 区间，每满 shardSize 条切换到下一个文件，内存占用与总数无关。
+     * 写失败时已写出的文件全部删除。
+     */
+    private List<SitemapShard> writeShards(UUID fromId, UUID toId, int firstNumber) {
+        List<SitemapShard> written = new ArrayList<>();
+        EntryCursor cursor = new EntryCursor(fromId, toId);
+        int number = firstNumber;
+        UUID shardFrom = fromId;
+        try {
+            do {
+                try (ShardWriter writer = new ShardWriter(number, shardFrom)) {
+                    while (writer.count < shardSize && cursor.hasNext()) {
+                        writer.write(cursor.next());
+                    }
+                    boolean last = !cursor.hasNext();
+                    written.add(writer.finish(last ? toId : writer.lastId));
+                    shardFrom = writer.lastId;
+                    number++;
+                }
+            } while (cursor.hasNext());
+        } catch (RuntimeException e) {
+            deleteFiles(written);
+            throw e;
+        }
+        return written;
+    }
+
+    // HTTP 日期精确到秒，新的修改时间至少比旧值晚一秒
+    private static Instant rewrittenAt(Instant previous) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant after = previous.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        return now.isAfter(after) ? now : after;
+    }
+
+    private void deleteLeftoverFiles() {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "sitemap-*")) {
+            files.forEach(SitemapServiceImpl::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Failed to clean sitemap directory {}", dir, e);
+        }
+    }
+
+    private static void deleteFiles(List<SitemapShard> written) {
+        written.forEach(shard -> deleteQuietly(shard.getFile()));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete sitemap file {}", file, e);
+        }
+    }
+
+    private RenderedDocument renderIndex(List<SitemapShard> current) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 + current.size() * 128);
+        Instant lastModified = Instant.EPOCH;
+        try {
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(buffer, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (SitemapShard shard : current) {
+                xml.writeStartElement("sitemap");
+                writeElement(xml, "loc", siteUrl + "/sitemap-" + shard.getNumber() + ".xml");
+                writeElement(xml, "lastmod", DateTimeFormatter.ISO_INSTANT.format(shard.getLastModified()));
+                xml.writeEndElement();
+                if (shard.getLastModified().isAfter(lastModified)) {
+                    lastModified = shard.getLastModified();
+                }
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to render sitemap index", e);
+        }
+        return RenderedDocument.of(buffer.toByteArray(), lastModified);
+    }
+
+    private static boolean contains(SitemapShard shard, UUID id) {
+        return (shard.getFromId() == null || BINARY_ORDER.compare(id, shard.getFromId()) > 0)
+                && (shard.getToId() == null || BINARY_ORDER.compare(id, shard.getToId()) <= 0);
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    /**
+     * 按 id 顺序逐条读取 (fromId, toId] 区间内的已发布文章，每次从数据库取一页。
+     */
+    private class EntryCursor implements Iterator<PostSitemapEntry> {
+        private final UUID toId;
+        private UUID after;
+        private Iterator<PostSitemapEntry> page = Collections.emptyIterator();
+        private boolean exhausted;
+        private PostSitemapEntry lookahead;
+
+        EntryCursor(UUID fromId, UUID toId) {
+            this.after = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (lookahead == null) {
+                lookahead = fetch();
+            }
+            return lookahead != null;
+        }
+
+        @Override
+        public PostSitemapEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PostSitemapEntry entry = lookahead;
+            lookahead = null;
+            return entry;
+        }
+
+        private PostSitemapEntry fetch() {
+            if (!page.hasNext()) {
+                if (exhausted) {
+                    return null;
+                }
+                List<PostSitemapEntry> entries = after == null
+                        ? postRepository.findSitemapEntries(PostStatus.PUBLISHED, PageRequest.of(0, PAGE_SIZE))
+                        : postRepository.findSitemapEntriesAfter(PostStatus.PUBLISHED, after, PageRequest.of(0, PAGE_SIZE));
+                exhausted = entries.size() < PAGE_SIZE;
+                if (entries.isEmpty()) {
+                    return null;
+                }
+                after = entries.get(entries.size() - 1).getId();
+                page = entries.iterator();
+            }
+            PostSitemapEntry entry = page.next();
+            if (toId != null && BINARY_ORDER.compare(entry.getId(), toId) > 0) {
+                exhausted = true;
+                page = Collections.emptyIterator();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * 写一个分片文件。finish 之前关闭（写失败）时删除文件。
+     */
+    private class ShardWriter implements Closeable {
+        private final int number;
+        private final UUID fromId;
+        private final Path file;
+        private final OutputStream out;
+        private final MessageDigest digest;
+        private final XMLStreamWriter xml;
+        private int count;
+        private UUID lastId;
+        private boolean finished;
+
+        ShardWriter(int number, UUID fromId) {
+            this.number = number;
+            this.fromId = fromId;
+            try {
+                Files.createDirectories(Paths.get(directory));
+                this.file = Files.createTempFile(Paths.get(directory), "sitemap-" + number + "-", ".xml");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            OutputStream opened = null;
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+                opened = new DigestOutputStream(Files.newOutputStream(file), digest);
+                this.out = opened;
+                this.xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+                xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                xml.writeStartElement("urlset");
+                xml.writeDefaultNamespace(SITEMAP_NS);
+            } catch (IOException | XMLStreamException | NoSuchAlgorithmException | RuntimeException e) {
+                closeQuietly(opened);
+                deleteQuietly(file);
+                if (e instanceof IOException io) {
+                    throw new UncheckedIOException(io);
+                }
+                throw new IllegalStateException("Failed to open sitemap shard " + number, e);
+            }
+        }
+
+        void write(PostSitemapEntry entry) {
+            try {
+                xml.writeStartElement("url");
+                writeElement(xml, "loc", siteUrl + "/p/" + entry.getId());
+                writeElement(xml, "lastmod", DateTimeFormatter.ISO_OFFSET_DATE_TIME
+                        .format(entry.getUpdatedAt().atZone(ZoneId.systemDefault())));
+                xml.writeEndElement();
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to write sitemap shard " + number, e);
+            }
+            count++;
+            lastId = entry.getId();
+        }
+
+        // 修改时间先记为写出时间，publish 时再和旧分片比较
+        SitemapShard finish(UUID toId) {
+            try {
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.close();
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to finish sitemap shard " + number, e);
+            }
+            finished = true;
+            return SitemapShard.builder()
+                    .number(number)
+                    .fromId(fromId)
+                    .toId(toId)
+                    .urlCount(count)
+                    .etag("\"" + HexFormat.of().formatHex(digest.digest()) + "\"")
+                    .lastModified(Instant.now().truncatedTo(ChronoUnit.SECONDS))
+                    .file(file)
+                    .build();
+        }
+
+        @Override
+        public void close() {
+            if (finished) {
+                return;
+            }
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                log.debug("Failed to close sitemap shard {}", number, e);
+            }
+            closeQuietly(out);
+            deleteQuietly(file);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Failed to close sitemap file", e);
+        }
+    }
+}
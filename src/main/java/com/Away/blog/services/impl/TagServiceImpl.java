@@ -8,12 +8,16 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.text.Normalizer;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private final TagRepository tagRepository;
 
     @Override
@@ -24,20 +28,35 @@ public class TagServiceImpl implements TagService {
     @Override
     @Transactional
     public List<Tag> createTags(Set<String> tagNames) {
-        List<Tag> existingTags = tagRepository.findByNameIn(tagNames);
-        Set<String> existingTagNames = existingTags
-                .stream()
-                .map(Tag::getName)
-                .collect(Collectors.toSet());
-        List<Tag> newTags = tagNames.stream().filter(name -> !existingTagNames.contains(name))
-                .map(name-> Tag.builder().name(name).posts(new HashSet<>()).build())
-                .toList();
-        List<Tag> saveTags = new ArrayList<>();
-        if(!newTags.isEmpty()) {
-            saveTags=tagRepository.saveAll(newTags);
+        Collection<String> names = normalizeNames(tagNames);
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        // 先 upsert 再查：并发创建同名标签时不会因唯一约束失败；按 name_key 查，已有的 "Java" 也能用 "java" 取到
+        tagRepository.insertIgnoringExisting(names);
+        List<Tag> tags = tagRepository.findByNameKeyIn(names.stream().map(Tag::nameKey).toList());
+        // 插入被其他唯一约束跳过时这里会少标签，不能悄悄丢掉
+        if (tags.size() != names.size()) {
+            Set<String> found = tags.stream().map(Tag::getNameKey).collect(Collectors.toSet());
+            throw new IllegalStateException("Could not create tags: " + names.stream()
+                    .filter(name -> !found.contains(Tag.nameKey(name))).toList());
+        }
+        return tags;
+    }
+
+    // 去掉首尾空白、合并连续空白，按忽略大小写去重（保留第一次出现的写法）
+    static Collection<String> normalizeNames(Collection<String> tagNames) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String tagName : tagNames) {
+            if (tagName == null) {
+                continue;
+            }
+            String name = WHITESPACE.matcher(Normalizer.normalize(tagName, Normalizer.Form.NFC).strip()).replaceAll(" ");
+            if (!name.isEmpty()) {
+                names.putIfAbsent(Tag.nameKey(name), name);
+            }
         }
-        saveTags.addAll(existingTags);
-        return saveTags;
+        return names.values();
     }
 
     @Override
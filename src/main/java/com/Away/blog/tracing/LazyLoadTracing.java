@@ -0,0 +1,71 @@
+package com.Away.blog.tracing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 懒加载的集合和代理各记一个 lazy span。映射器访问关联时发出的查询不经过仓库，没有它就只能算进 mapping。
+ * 做法是用同样接口的包装替换 Hibernate 的默认监听器，在委托调用前后计时。
+ */
+@Component
+@ConditionalOnProperty(name = "blog.tracing.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class LazyLoadTracing {
+
+    static final String CATEGORY = "lazy";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        List<InitializeCollectionEventListener> collections = new ArrayList<>();
+        for (InitializeCollectionEventListener delegate : listeners(registry, EventType.INIT_COLLECTION)) {
+            collections.add(event -> {
+                if (RequestTrace.current() == null) {
+                    delegate.onInitializeCollection(event);
+                    return;
+                }
+                try (Span ignored = RequestTrace.span(CATEGORY, event.getCollection().getRole())) {
+                    delegate.onInitializeCollection(event);
+                }
+            });
+        }
+        registry.setListeners(EventType.INIT_COLLECTION, collections.toArray(InitializeCollectionEventListener[]::new));
+
+        // 代理初始化走 IMMEDIATE_LOAD，find 和查询用的其他加载类型不计入
+        List<LoadEventListener> loads = new ArrayList<>();
+        for (LoadEventListener delegate : listeners(registry, EventType.LOAD)) {
+            loads.add((event, loadType) -> {
+                if (loadType != LoadEventListener.IMMEDIATE_LOAD || RequestTrace.current() == null) {
+                    delegate.onLoad(event, loadType);
+                    return;
+                }
+                try (Span ignored = RequestTrace.span(CATEGORY, event.getEntityClassName())) {
+                    delegate.onLoad(event, loadType);
+                }
+            });
+        }
+        registry.setListeners(EventType.LOAD, loads.toArray(LoadEventListener[]::new));
+    }
+
+    private static <T> List<T> listeners(EventListenerRegistry registry, EventType<T> type) {
+        EventListenerGroup<T> group = registry.getEventListenerGroup(type);
+        List<T> listeners = new ArrayList<>();
+        group.listeners().forEach(listeners::add);
+        return listeners;
+    }
+}
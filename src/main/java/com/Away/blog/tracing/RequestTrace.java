@@ -0,0 +1,127 @@
+package com.Away.blog.tracing;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 一个被采样请求的全部 span，只记录处理请求的线程；@Async 等后台线程上的工作不计入。
+ * 请求没有被采样时线程上没有 RequestTrace，{@link #span} 只多一次 ThreadLocal 读取。
+ */
+public final class RequestTrace {
+
+    public static final String ROOT = "request";
+    public static final String HANDLER = "handler";
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    @Getter
+    private final String traceId;
+    @Getter
+    private final Span root;
+    private final long epochOffsetNanos;
+    private final List<Span> spans = new ArrayList<>();
+    private final Deque<Span> open = new ArrayDeque<>();
+    private long handlerStartNanos = -1;
+
+    private RequestTrace(String traceId, String parentSpanId, String name) {
+        Instant now = Instant.now();
+        this.epochOffsetNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano() - System.nanoTime();
+        this.traceId = traceId != null ? traceId : randomHex(16);
+        this.root = new Span(this, ROOT, name, randomHex(8), parentSpanId);
+    }
+
+    static RequestTrace begin(String traceId, String parentSpanId, String name) {
+        RequestTrace trace = new RequestTrace(traceId, parentSpanId, name);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 开始一个 span。同一类别的 span 嵌套时（服务调服务、映射器调映射器）只记录最外层，
+     * 这样 Server-Timing 里按类别相加的时间不会重复计算。
+     */
+    public static Span span(String category, String name) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return Span.NOOP;
+        }
+        for (Span span : trace.open) {
+            if (span.getCategory().equals(category)) {
+                return Span.NOOP;
+            }
+        }
+        Span parent = trace.open.isEmpty() ? trace.root : trace.open.peek();
+        Span span = new Span(trace, category, name, randomHex(8), parent.getSpanId());
+        if (HANDLER.equals(category) && trace.handlerStartNanos < 0) {
+            trace.handlerStartNanos = span.getStartNanos();
+        }
+        trace.open.push(span);
+        return span;
+    }
+
+    void finish(Span span) {
+        if (span != root) {
+            open.remove(span);
+            spans.add(span);
+        }
+    }
+
+    /**
+     * 结束请求：还没关闭的 span（比如响应序列化）在这里一并结束。
+     */
+    void end() {
+        CURRENT.remove();
+        while (!open.isEmpty()) {
+            open.peek().close();
+        }
+        root.close();
+    }
+
+    public List<Span> getSpans() {
+        return List.copyOf(spans);
+    }
+
+    /**
+     * Server-Timing 头：filters 是进入控制器之前（过滤器链、JWT 校验）的时间，其余按类别汇总已结束的 span，
+     * app 是到开始写响应为止的总时间。序列化和写出发生在响应头之后，只出现在导出的 span 里。
+     */
+    String serverTiming() {
+        long now = System.nanoTime();
+        Map<String, Long> durations = new LinkedHashMap<>();
+        if (handlerStartNanos >= 0) {
+            durations.put("filters", handlerStartNanos - root.getStartNanos());
+        }
+        for (Span span : spans) {
+            durations.merge(span.getCategory(), span.getDurationNanos(), Long::sum);
+        }
+        durations.put("app", now - root.getStartNanos());
+        return durations.entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "%s;dur=%.1f", entry.getKey(), entry.getValue() / 1e6))
+                .collect(Collectors.joining(", ")) + ", trace;desc=\"" + traceId + "\"";
+    }
+
+    long toEpochNanos(long nanoTime) {
+        return epochOffsetNanos + nanoTime;
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+}
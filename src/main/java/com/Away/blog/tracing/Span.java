@@ -0,0 +1,49 @@
+package com.Away.blog.tracing;
+
+import lombok.Getter;
+
+/**
+ * 一段计时。用 try-with-resources 包住被测代码，close 时结束计时。
+ */
+@Getter
+public final class Span implements AutoCloseable {
+
+    // 请求没有被采样时返回它，close 什么也不做
+    static final Span NOOP = new Span(null, null, null, null, null);
+
+    private final RequestTrace trace;
+    private final String category;
+    private final String name;
+    private final String spanId;
+    private final String parentSpanId;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private long durationNanos = -1;
+
+    Span(RequestTrace trace, String category, String name, String spanId, String parentSpanId) {
+        this.trace = trace;
+        this.category = category;
+        this.name = name;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.startNanos = System.nanoTime();
+        this.startEpochNanos = trace == null ? 0 : trace.toEpochNanos(startNanos);
+    }
+
+    public boolean isFinished() {
+        return durationNanos >= 0;
+    }
+
+    public long getEndEpochNanos() {
+        return startEpochNanos + durationNanos;
+    }
+
+    @Override
+    public void close() {
+        if (trace == null || isFinished()) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        trace.finish(this);
+    }
+}
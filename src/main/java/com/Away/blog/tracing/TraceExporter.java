@@ -0,0 +1,146 @@
+package com.Away.blog.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把采样到的请求按 OTLP/JSON 格式（与 OpenTelemetry Collector 的 file exporter 相同，每行一个 ExportTraceServiceRequest）
+ * 追加到 blog.tracing.export-file，可以直接用 otlpjsonfile receiver 读取。未配置文件时不导出。
+ * 写文件在单独的线程上，队列满时丢弃，不影响请求。
+ */
+@Component
+@ConditionalOnProperty(name = "blog.tracing.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TraceExporter {
+
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog.tracing.export-file:}")
+    private String exportFile;
+
+    @Value("${spring.application.name:blog}")
+    private String serviceName;
+
+    private ThreadPoolExecutor writer;
+    private BufferedWriter out;
+
+    @PostConstruct
+    void start() {
+        if (exportFile.isBlank()) {
+            return;
+        }
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1000),
+                Thread.ofPlatform().name("trace-exporter").daemon(true).factory());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Failed to close trace export file", e);
+            }
+        }
+    }
+
+    public void export(RequestTrace trace, HttpServletRequest request, int status) {
+        if (writer == null) {
+            return;
+        }
+        // 请求对象在请求结束后会被复用，需要的信息先取出来
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        try {
+            writer.execute(() -> write(trace, method, path, status));
+        } catch (RejectedExecutionException e) {
+            log.debug("Trace export queue is full, dropped trace {}", trace.getTraceId());
+        }
+    }
+
+    private void write(RequestTrace trace, String method, String path, int status) {
+        try {
+            if (out == null) {
+                Path file = Path.of(exportFile);
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            out.write(objectMapper.writeValueAsString(toOtlp(trace, method, path, status)));
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            log.warn("Failed to export trace {}", trace.getTraceId(), e);
+        }
+    }
+
+    private Map<String, Object> toOtlp(RequestTrace trace, String method, String path, int status) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        spans.add(span(trace, trace.getRoot(), SPAN_KIND_SERVER, List.of(
+                attribute("http.request.method", "stringValue", method),
+                attribute("url.path", "stringValue", path),
+                attribute("http.response.status_code", "intValue", String.valueOf(status)))));
+        for (Span span : trace.getSpans()) {
+            spans.add(span(trace, span, SPAN_KIND_INTERNAL, List.of(
+                    attribute("blog.category", "stringValue", span.getCategory()))));
+        }
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", List.of(attribute("service.name", "stringValue", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "com.Away.blog.tracing"),
+                        "spans", spans)))));
+    }
+
+    private static Map<String, Object> span(RequestTrace trace, Span span, int kind, List<Map<String, Object>> attributes) {
+        Map<String, Object> otlp = new LinkedHashMap<>();
+        otlp.put("traceId", trace.getTraceId());
+        otlp.put("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            otlp.put("parentSpanId", span.getParentSpanId());
+        }
+        otlp.put("name", span.getName());
+        otlp.put("kind", kind);
+        // OTLP/JSON 中 64 位整数写成字符串
+        otlp.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+        otlp.put("endTimeUnixNano", String.valueOf(span.getEndEpochNanos()));
+        otlp.put("attributes", attributes);
+        return otlp;
+    }
+
+    private static Map<String, Object> attribute(String key, String type, String value) {
+        return Map.of("key", key, "value", Map.of(type, value));
+    }
+}
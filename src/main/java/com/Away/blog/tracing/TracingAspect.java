@@ -0,0 +1,46 @@
+package com.Away.blog.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 控制器、服务、仓库和映射器的调用各记一个 span。只在开启追踪时注册，关闭时这些 bean 不会被代理。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "blog.tracing.enabled", havingValue = "true")
+public class TracingAspect {
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object handler(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(RequestTrace.HANDLER, joinPoint);
+    }
+
+    @Around("within(com.Away.blog.services.impl..*)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("service", joinPoint);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("db", joinPoint);
+    }
+
+    @Around("within(com.Away.blog.mappers..*)")
+    public Object mapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("mapping", joinPoint);
+    }
+
+    private static Object trace(String category, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (RequestTrace.current() == null) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (Span ignored = RequestTrace.span(category, name)) {
+            return joinPoint.proceed();
+        }
+    }
+}
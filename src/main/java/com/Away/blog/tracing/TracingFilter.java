@@ -0,0 +1,130 @@
+package com.Away.blog.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按 blog.tracing.sample-rate 采样请求，在响应开始写出前加上 Server-Timing 头，请求结束后交给 TraceExporter。
+ * 未采样的请求直接放行。W3C traceparent 的 trace id 总是沿用；它的 sampled 标记只有在
+ * blog.tracing.trust-inbound-sampling 开启（前面是会改写这个头的可信代理）时才强制采样，
+ * 否则任何客户端都能让每个请求都被追踪。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "blog.tracing.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+
+    private final TraceExporter traceExporter;
+
+    @Value("${blog.tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${blog.tracing.trust-inbound-sampling:false}")
+    private boolean trustInboundSampling;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String traceId = null;
+        String parentSpanId = null;
+        boolean sampled = false;
+        String traceparent = request.getHeader("traceparent");
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent);
+            if (matcher.matches()) {
+                traceId = matcher.group(1);
+                parentSpanId = matcher.group(2);
+                sampled = trustInboundSampling && (Integer.parseInt(matcher.group(3), 16) & 1) == 1;
+            }
+        }
+        if (!sampled && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTrace trace = RequestTrace.begin(traceId, parentSpanId, request.getMethod() + " " + request.getRequestURI());
+        ServerTimingResponse tracedResponse = new ServerTimingResponse(response, trace);
+        try {
+            filterChain.doFilter(request, tracedResponse);
+        } finally {
+            // 没有响应体的请求（204、sendfile 等）在这里补上
+            tracedResponse.writeServerTiming();
+            trace.end();
+            traceExporter.export(trace, request, response.getStatus());
+        }
+    }
+
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTrace trace;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        void writeServerTiming() {
+            if (!written && !isCommitted()) {
+                setHeader("Server-Timing", trace.serverTiming());
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- 相关文章索引（RelatedPostServiceImpl 定期整体重建）。
+-- related_post_id 不建外键：索引整体重建时允许短暂指向已删除的文章，读取时按状态过滤
+CREATE TABLE related_posts (
+    id              BINARY(16) NOT NULL,
+    post_id         BINARY(16) NOT NULL,
+    related_post_id BINARY(16) NOT NULL,
+    position        INTEGER    NOT NULL,
+    score           FLOAT(53)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_related_posts_post_position ON related_posts (post_id, position);
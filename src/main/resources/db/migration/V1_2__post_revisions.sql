@@ -0,0 +1,14 @@
+-- 文章修订历史：每隔若干版存一次完整快照，中间存压缩后的差量，见 ContentDelta。
+CREATE TABLE post_revisions (
+    id             BINARY(16)                  NOT NULL,
+    post_id        BINARY(16)                  NOT NULL,
+    revision       INTEGER                     NOT NULL,
+    kind           ENUM ('DELTA', 'SNAPSHOT')  NOT NULL,
+    title          VARCHAR(255)                NOT NULL,
+    content_length INTEGER                     NOT NULL,
+    stored_bytes   INTEGER                     NOT NULL,
+    data           LONGBLOB                    NOT NULL,
+    created_at     DATETIME(6)                 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_post_revisions_post_revision UNIQUE (post_id, revision)
+) ENGINE = InnoDB;
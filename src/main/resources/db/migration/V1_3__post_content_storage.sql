@@ -0,0 +1,4 @@
+-- 正文改存 content_data（超过阈值时压缩），旧的 content 列由 PostContentMigrationService 分批迁移后置空，
+-- 因此需要允许为 NULL。
+ALTER TABLE posts ADD COLUMN content_data LONGBLOB;
+ALTER TABLE posts MODIFY content TEXT NULL;
@@ -0,0 +1,7 @@
+-- 写入时渲染：保存渲染好的 HTML 和摘要、目录、字数。
+-- word_count 为 NULL 表示尚未渲染，启动后由 PostRenderService 分批补齐。
+ALTER TABLE posts ADD COLUMN format VARCHAR(16) DEFAULT 'HTML' NOT NULL;
+ALTER TABLE posts ADD COLUMN rendered_html LONGBLOB;
+ALTER TABLE posts ADD COLUMN excerpt VARCHAR(600);
+ALTER TABLE posts ADD COLUMN toc TEXT;
+ALTER TABLE posts ADD COLUMN word_count INTEGER;
@@ -0,0 +1,62 @@
+-- 基线：引入 Flyway 之前由 spring.jpa.hibernate.ddl-auto=update 建出的表结构，逐列保持一致。
+-- 已由 ddl-auto 建好表的库不会执行本脚本而是直接标记为 V1（见 spring.flyway.baseline-on-migrate），
+-- 所以这里不能再加任何列或表，之后的结构变化一律写成新的版本。
+
+CREATE TABLE user (
+    id         BINARY(16)             NOT NULL,
+    name       VARCHAR(255)           NOT NULL,
+    email      VARCHAR(255)           NOT NULL,
+    password   VARCHAR(255)           NOT NULL,
+    role       ENUM ('ADMIN', 'USER') NOT NULL,
+    created_at DATE                   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE categorys (
+    id   BINARY(16)   NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categorys_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE tags (
+    id   BINARY(16)   NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tags_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE posts (
+    id           BINARY(16)                  NOT NULL,
+    title        VARCHAR(255)                NOT NULL,
+    content      TEXT                        NOT NULL,
+    status       ENUM ('DRAFT', 'PUBLISHED') NOT NULL,
+    reading_time INTEGER                     NOT NULL,
+    created_at   DATETIME(6)                 NOT NULL,
+    updated_at   DATETIME(6)                 NOT NULL,
+    author_id    BINARY(16)                  NOT NULL,
+    category_id  BINARY(16)                  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_posts_author FOREIGN KEY (author_id) REFERENCES user (id),
+    CONSTRAINT fk_posts_category FOREIGN KEY (category_id) REFERENCES categorys (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE post_tags (
+    post_id BINARY(16) NOT NULL,
+    tag_id  BINARY(16) NOT NULL,
+    PRIMARY KEY (post_id, tag_id),
+    CONSTRAINT fk_post_tags_post FOREIGN KEY (post_id) REFERENCES posts (id),
+    CONSTRAINT fk_post_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE comments (
+    id         BINARY(16)   NOT NULL,
+    content    VARCHAR(255) NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    author_id  BINARY(16)   NOT NULL,
+    post_id    BINARY(16)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comments_author FOREIGN KEY (author_id) REFERENCES user (id),
+    CONSTRAINT fk_comments_post FOREIGN KEY (post_id) REFERENCES posts (id)
+) ENGINE = InnoDB;
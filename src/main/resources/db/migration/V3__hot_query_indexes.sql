@@ -0,0 +1,34 @@
+-- 热点查询的复合/覆盖索引。每条索引前注明服务的查询和选择这组列的理由。
+-- InnoDB 二级索引的叶子节点自带主键 id，所以索引列 + id 就能覆盖的查询不需要回表。
+-- HotQueryPlanTests 截获这些仓库方法实际生成的 SQL 并执行 EXPLAIN，一旦不再命中对应索引即失败。
+
+-- PostRepository.findAllByStatusOrderByCreatedAtDesc、findSummariesByStatus（首页、Atom feed）
+--   WHERE status = ? ORDER BY created_at DESC
+--   等值列在前、排序列在后，倒序扫描索引即得到有序结果，LIMIT 在读够行数后提前结束，不需要 filesort。
+CREATE INDEX idx_posts_status_created ON posts (status, created_at);
+
+-- PostRepository.findAllByStatusAndCategoryOrderByCreatedAtDesc、findSummariesByStatusAndCategoryId（分类页、分类 feed）
+--   WHERE status = ? AND category_id = ? ORDER BY created_at DESC
+--   只有外键索引时要逐行回表判断 status 再排序；两个等值列都进索引后同样可以按 created_at 顺序读出。
+--   以 category_id 开头，同时可以替代外键所需的索引。
+CREATE INDEX idx_posts_category_status_created ON posts (category_id, status, created_at);
+
+-- PostRepository.findDraftsByAuthorAndStatusOrderByCreatedAtDesc（作者草稿箱）
+--   WHERE author_id = ? AND status = ? ORDER BY created_at DESC
+CREATE INDEX idx_posts_author_status_created ON posts (author_id, status, created_at);
+
+-- PostRepository.findSitemapEntries / findSitemapEntriesAfter（sitemap 按主键做 keyset 分页）
+--   SELECT id, updated_at ... WHERE status = ? AND id > ? ORDER BY id
+--   按主键扫描要读聚簇索引，每行都会带出正文等大字段所在的页；
+--   status、id、updated_at 都在这个索引里，整个 sitemap 生成过程不碰聚簇索引。
+CREATE INDEX idx_posts_status_id_updated ON posts (status, id, updated_at);
+
+-- post_tags 反向连接：findAllByStatusAndTagsContainingOrderByCreatedAtDesc、标签页按 tag_id 找文章
+--   主键 (post_id, tag_id) 无法按 tag_id 查找；(tag_id, post_id) 覆盖连接所需的两列，同时满足 tag_id 外键的索引要求。
+CREATE INDEX idx_post_tags_tag_post ON post_tags (tag_id, post_id);
+
+-- CommentRepository.findAllByPostOrderByCreatedAtAsc（文章评论列表）
+--   WHERE post_id = ? ORDER BY created_at：按索引顺序返回，不需要 filesort。
+CREATE INDEX idx_comments_post_created ON comments (post_id, created_at);
+
+-- UserRepository.findByEmail（登录、每次鉴权）已由 email 的唯一约束覆盖，此处无需新索引。
@@ -0,0 +1,2 @@
+-- 删除文章改为先标记 DELETED，再由后台分批清理评论和 post_tags 后物理删除。
+ALTER TABLE posts MODIFY status ENUM ('DRAFT', 'PUBLISHED', 'DELETED') NOT NULL;
@@ -0,0 +1,14 @@
+-- 组合查询（PostQueryRepository）按热度、阅读时长排序用到的列和索引。
+-- comment_count 是评论数的冗余计数，由 CommentService 在增删评论时原子加减，这里按现有评论回填。
+ALTER TABLE posts ADD COLUMN comment_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE posts SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id);
+
+-- sort=POPULARITY: WHERE status = 'PUBLISHED' [AND ...] ORDER BY comment_count DESC, id DESC LIMIT n
+--   没有索引时要先按条件筛完全部行再排序。
+--   二级索引叶子自带 id，(comment_count, id) 的顺序与 ORDER BY 一致，读满 n 行即停止；游标条件变为索引上的 range。
+-- PostQueryPlanTests 对实际生成的 SQL 执行 EXPLAIN，确认翻页后命中这个索引。
+CREATE INDEX idx_posts_status_comment_count ON posts (status, comment_count);
+
+-- sort=READING_TIME 以及 minReadingTime/maxReadingTime 范围过滤，原理同上
+CREATE INDEX idx_posts_status_reading_time ON posts (status, reading_time);
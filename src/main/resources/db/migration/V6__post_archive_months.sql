@@ -0,0 +1,13 @@
+-- 按月归档侧边栏的预聚合表：每个自然月一行，只统计 PUBLISHED 文章。
+-- archive_month = 年 * 100 + 月（如 202610），由 PostArchiveService 在文章发布、撤回、删除时原子加减。
+CREATE TABLE post_archive_months (
+    archive_month INTEGER NOT NULL,
+    post_count INTEGER DEFAULT 0 NOT NULL,
+    PRIMARY KEY (archive_month)
+);
+
+INSERT INTO post_archive_months (archive_month, post_count)
+SELECT YEAR(created_at) * 100 + MONTH(created_at), COUNT(*)
+FROM posts
+WHERE status = 'PUBLISHED'
+GROUP BY YEAR(created_at) * 100 + MONTH(created_at);
@@ -0,0 +1,21 @@
+-- 事务性发件箱：文章和评论的领域事件与业务数据在同一事务里写入，提交后由 OutboxService 异步投递给进程内的监听器。
+-- id 自增即投递顺序；同一篇文章的写操作会锁住同一行 posts，所以同一 aggregate_id 的事件按提交顺序递增。
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT NOT NULL,
+    aggregate_id BINARY(16) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER DEFAULT 0 NOT NULL,
+    next_attempt_at DATETIME(6),
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- 投递：WHERE status = 'PENDING' AND id > ? ORDER BY id LIMIT n；清理：WHERE status = 'DISPATCHED' AND dispatched_at < ?
+CREATE INDEX idx_outbox_events_status_id ON outbox_events (status, id);
+-- 投递时检查同一 aggregate 前面有没有还在退避的事件
+CREATE INDEX idx_outbox_events_aggregate_id ON outbox_events (aggregate_id, id);
+CREATE INDEX idx_outbox_events_status_dispatched_at ON outbox_events (status, dispatched_at);
@@ -0,0 +1,9 @@
+-- 标签名按忽略大小写去重：name_key 是小写后的名字，由应用写入（Tag.nameKey），是标签唯一的去重规则。
+-- name_key 用 utf8mb4_bin 按字节比较，"cafe" 和 "café" 是两个标签；uk_tags_name 在 MySQL 默认的
+-- utf8mb4_0900_ai_ci 下同时忽略重音，会让它们冲突，所以删掉。
+-- MySQL 上 uk_tags_name 已按 _ci 排序规则去重，回填时不会出现冲突。
+ALTER TABLE tags ADD COLUMN name_key VARCHAR(255) COLLATE utf8mb4_bin;
+UPDATE tags SET name_key = LOWER(name);
+ALTER TABLE tags MODIFY name_key VARCHAR(255) NOT NULL COLLATE utf8mb4_bin;
+ALTER TABLE tags ADD CONSTRAINT uk_tags_name_key UNIQUE (name_key);
+ALTER TABLE tags DROP CONSTRAINT uk_tags_name;
@@ -0,0 +1,91 @@
+package com.Away.blog.bench;
+
+import com.Away.blog.domain.entity.UuidV7Generator;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 对比随机 UUIDv4 与 UUIDv7 作为 BINARY(16) 主键时的插入吞吐和 InnoDB 表/索引大小。
+ * 参数：JDBC URL、用户名、密码、行数（默认 1000000），例如
+ * java ... UuidPrimaryKeyBenchmark "jdbc:mysql://localhost:3306/blog_bench?rewriteBatchedStatements=true" root secret 1000000
+ */
+public class UuidPrimaryKeyBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    public static void main(String[] args) throws SQLException {
+        String url = args.length > 0 ? args[0] : "jdbc:mysql://localhost:3306/blog_bench?rewriteBatchedStatements=true";
+        String user = args.length > 1 ? args[1] : "root";
+        String password = args.length > 2 ? args[2] : "";
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 1_000_000;
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            run(connection, "bench_uuid_v4", UUID::randomUUID, rows);
+            run(connection, "bench_uuid_v7", UuidV7Generator::next, rows);
+        }
+    }
+
+    private static void run(Connection connection, String table, Supplier<UUID> ids, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            // 二级索引模拟 posts 表上的 (status, created_at) 索引，其叶子节点同样携带主键
+            statement.execute("CREATE TABLE " + table + " (id BINARY(16) NOT NULL PRIMARY KEY, " +
+                    "status VARCHAR(16) NOT NULL, created_at TIMESTAMP NOT NULL, payload VARCHAR(200) NOT NULL)");
+            statement.execute("CREATE INDEX idx_" + table + "_status ON " + table + " (status, created_at)");
+        }
+        connection.commit();
+
+        String payload = "x".repeat(200);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, status, created_at, payload) VALUES (?, ?, CURRENT_TIMESTAMP, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setBytes(1, toBytes(ids.get()));
+                insert.setString(2, i % 10 == 0 ? "DRAFT" : "PUBLISHED");
+                insert.setString(3, payload);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-14s %,d rows in %.1fs (%,.0f rows/s)%s%n",
+                table, rows, seconds, rows / seconds, sizeOf(connection, table));
+    }
+
+    private static String sizeOf(Connection connection, String table) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("MySQL")) {
+            return "";
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet result = statement.executeQuery(
+                    "SELECT data_length, index_length, data_free FROM information_schema.tables " +
+                            "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                if (!result.next()) {
+                    return "";
+                }
+                return String.format(", clustered %.1f MB, secondary %.1f MB, free %.1f MB",
+                        result.getLong(1) / 1048576.0, result.getLong(2) / 1048576.0, result.getLong(3) / 1048576.0);
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
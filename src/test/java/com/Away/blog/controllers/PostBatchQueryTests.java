@@ -0,0 +1,118 @@
+package com.Away.blog.controllers;
+
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.PostContent;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.Role;
+import com.Away.blog.domain.dtos.PostBatchItemDto;
+import com.Away.blog.domain.dtos.PostDto;
+import com.Away.blog.domain.dtos.TagDto;
+import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.domain.entity.User;
+import com.Away.blog.repositories.CategoryRepository;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.repositories.TagRepository;
+import com.Away.blog.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 批量取文章时语句数不随文章、分类和标签的数量增长：一条查询取文章和关联，分类、标签的文章数各一条分组查询。
+ * 测试在事务里调用控制器，和 open-in-view 一样，懒加载的集合被访问时会真的发出查询并计入统计。
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PostBatchQueryTests {
+
+    @Autowired
+    private PostController postController;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void postCountsComeFromGroupedQueries() {
+        User author = userRepository.save(User.builder()
+                .email("batch-" + UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .name("batcher")
+                .role(Role.USER)
+                .build());
+        List<Category> categories = new ArrayList<>();
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            categories.add(categoryRepository.save(Category.builder().name("batch-" + UUID.randomUUID()).build()));
+            tags.add(tagRepository.save(Tag.builder().name("batch-" + UUID.randomUUID()).build()));
+        }
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(save(author, categories.get(i % 4), Set.of(tags.get(i % 4), tags.get((i + 1) % 4)), PostStatus.PUBLISHED));
+        }
+        // 草稿不计入文章数
+        save(author, categories.get(0), Set.of(tags.get(0)), PostStatus.DRAFT);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        @SuppressWarnings("unchecked")
+        List<PostBatchItemDto> items = (List<PostBatchItemDto>) postController.getPostsByIds(ids, null).getBody().getValue();
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(ids, items.stream().map(PostBatchItemDto::getId).toList());
+        for (PostBatchItemDto item : items) {
+            PostDto post = item.getPost();
+            assertEquals(3, post.getCategory().getPostCount());
+            assertEquals(Map.of(6, 2), post.getTags().stream()
+                    .collect(Collectors.groupingBy(TagDto::getPostCount, Collectors.summingInt(tag -> 1))));
+        }
+    }
+
+    private UUID save(User author, Category category, Set<Tag> tags, PostStatus status) {
+        return postRepository.save(Post.builder()
+                .title("batch")
+                .content(PostContent.of("<p>batch</p>"))
+                .format(ContentFormat.HTML)
+                .status(status)
+                .readingTime(1)
+                .author(author)
+                .category(category)
+                .tags(tags)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,94 @@
+package com.Away.blog.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Range 头解析：三种单段形式、越界的截断和 416，以及按 RFC 9110 忽略（返回整个文件）的情况。
+ */
+class ByteRangeTests {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void closedRange() {
+        assertRange(0, 99, "bytes=0-99");
+        assertRange(999, 999, "bytes=999-999");
+    }
+
+    @Test
+    void suffixRangeCountsFromTheEnd() {
+        assertRange(900, 999, "bytes=-100");
+        assertRange(999, 999, "bytes=-1");
+        // 后缀比文件长时返回整个文件
+        assertRange(0, 999, "bytes=-5000");
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() {
+        assertRange(900, 999, "bytes=900-");
+        assertRange(0, 999, "bytes=0-");
+    }
+
+    @Test
+    void endPastTheFileIsClamped() {
+        assertRange(500, 999, "bytes=500-5000");
+        assertRange(0, 999, "bytes=0-" + Long.MAX_VALUE);
+    }
+
+    @Test
+    void startAtOrPastTheEndIsUnsatisfiable() {
+        assertUnsatisfiable("bytes=1000-");
+        assertUnsatisfiable("bytes=1000-1200");
+        assertUnsatisfiable("bytes=5000-6000");
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=0-", 0).orElseThrow());
+    }
+
+    @Test
+    void emptySuffixIsUnsatisfiable() {
+        assertUnsatisfiable("bytes=-0");
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-5", 0).orElseThrow());
+    }
+
+    @Test
+    void multipleRangesAreIgnored() {
+        assertIgnored("bytes=0-1,5-9");
+        assertIgnored("bytes=0-1, 5-");
+        assertIgnored("bytes=-5,-10");
+    }
+
+    @Test
+    void malformedHeadersAreIgnored() {
+        for (String header : new String[]{null, "", "bytes=", "bytes=-", "bytes=5", "items=0-9", "Bytes=0-9",
+                "bytes=abc-def", "bytes=9-3", "bytes=--1", "bytes=+5-", "bytes=5-+9", "bytes=0x10-",
+                "bytes=1-2-3", "bytes=99999999999999999999-"}) {
+            assertIgnored(header);
+        }
+    }
+
+    @Test
+    void lengthIncludesBothEnds() {
+        assertEquals(100, ByteRange.parse("bytes=0-99", SIZE).orElseThrow().getLength());
+        assertEquals(1, ByteRange.parse("bytes=-1", SIZE).orElseThrow().getLength());
+    }
+
+    private static void assertRange(long start, long end, String header) {
+        ByteRange range = ByteRange.parse(header, SIZE).orElseThrow(() -> new AssertionError("ignored: " + header));
+        assertEquals(start, range.getStart(), header);
+        assertEquals(end, range.getEnd(), header);
+    }
+
+    private static void assertUnsatisfiable(String header) {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse(header, SIZE).orElseThrow(), header);
+    }
+
+    private static void assertIgnored(String header) {
+        Optional<ByteRange> range = ByteRange.parse(header, SIZE);
+        assertTrue(range.isEmpty(), () -> header + " -> " + range);
+    }
+}
@@ -0,0 +1,113 @@
+package com.Away.blog.domain.entity;
+
+import com.Away.blog.domain.PostContent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 正文列的编码：格式头、压缩阈值、读写往返，以及迁移前旧明文列的回退。
+ * 未经 Spring 创建的转换器使用默认阈值 1024 字节。
+ */
+class PostContentConverterTests {
+
+    private static final int THRESHOLD = 1024;
+
+    private final PostContentConverter converter = new PostContentConverter();
+
+    @Test
+    void textSurvivesARoundTrip() {
+        for (String text : new String[]{"", "<p>短文</p>", "<p>" + "正文内容 content ".repeat(500) + "</p>", random(4096)}) {
+            byte[] stored = converter.convertToDatabaseColumn(PostContent.of(text));
+            assertEquals(text, converter.convertToEntityAttribute(stored).text());
+        }
+    }
+
+    @Test
+    void textBelowThresholdIsStoredPlain() {
+        String text = "a".repeat(THRESHOLD - 1);
+        byte[] stored = converter.convertToDatabaseColumn(PostContent.of(text));
+
+        assertEquals(0, stored[0]);
+        assertEquals(THRESHOLD, stored.length);
+        assertEquals(text, new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void compressibleTextAtThresholdIsDeflated() {
+        String text = "a".repeat(THRESHOLD);
+        byte[] stored = converter.convertToDatabaseColumn(PostContent.of(text));
+
+        // 格式头之后是 4 字节的原文长度
+        assertEquals(1, stored[0]);
+        assertEquals(THRESHOLD, ByteBuffer.wrap(stored, 1, 4).getInt());
+        assertTrue(stored.length < THRESHOLD / 4);
+        assertTrue(converter.convertToEntityAttribute(stored).isCompressed());
+    }
+
+    // 阈值按 UTF-8 字节数计算，不是字符数
+    @Test
+    void thresholdCountsUtf8Bytes() {
+        String text = "文".repeat(THRESHOLD / 3 + 1);
+        assertEquals(1, converter.convertToDatabaseColumn(PostContent.of(text))[0]);
+    }
+
+    @Test
+    void unchangedContentReusesStoredBytes() {
+        byte[] stored = converter.convertToDatabaseColumn(PostContent.of("x".repeat(THRESHOLD * 2)));
+        assertSame(stored, converter.convertToDatabaseColumn(converter.convertToEntityAttribute(stored)));
+    }
+
+    @Test
+    void unknownFormatHeaderIsRejected() {
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(new byte[]{2, 'a'}));
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(new byte[0]));
+    }
+
+    @Test
+    void truncatedDeflateDataIsRejectedOnRead() {
+        byte[] stored = converter.convertToDatabaseColumn(PostContent.of(random(THRESHOLD * 8)));
+        assertEquals(1, stored[0]);
+        byte[] truncated = new byte[stored.length / 2];
+        System.arraycopy(stored, 0, truncated, 0, truncated.length);
+
+        PostContent content = converter.convertToEntityAttribute(truncated);
+        assertThrows(IllegalStateException.class, content::text);
+    }
+
+    @Test
+    void nullColumnsStayNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    // content_data 为空的旧文章读旧的明文列，迁移后只剩 content_data
+    @Test
+    void legacyContentIsUsedUntilMigrated() {
+        Post post = Post.builder().legacyContent("<p>legacy</p>").build();
+        assertEquals("<p>legacy</p>", post.getContent());
+
+        assertTrue(post.migrateLegacyContent());
+        assertNull(post.getLegacyContent());
+        assertEquals("<p>legacy</p>", post.getContent());
+        assertFalse(post.migrateLegacyContent());
+    }
+
+    private static String random(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('!' + random.nextInt(94)));
+        }
+        return text.toString();
+    }
+}
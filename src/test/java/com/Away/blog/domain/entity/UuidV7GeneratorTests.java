@@ -0,0 +1,54 @@
+package com.Away.blog.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTests {
+
+    // 与数据库中 BINARY(16) 的逐字节无符号比较一致
+    private static final Comparator<UUID> BINARY_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @Test
+    void idsIncreaseMonotonicallyWithinTheSameMillisecond() {
+        UUID previous = UuidV7Generator.next();
+        int sameMillisecond = 0;
+        for (int i = 0; i < 20_000; i++) {
+            UUID next = UuidV7Generator.next();
+            assertTrue(BINARY_ORDER.compare(previous, next) < 0, previous + " should sort before " + next);
+            long previousMillis = UuidV7Generator.timestampOf(previous);
+            long nextMillis = UuidV7Generator.timestampOf(next);
+            assertTrue(nextMillis >= previousMillis);
+            if (nextMillis == previousMillis) {
+                sameMillisecond++;
+            }
+            previous = next;
+        }
+        // 两万个 id 不可能每个都落在不同的毫秒里，确认同一毫秒内的递增确实被覆盖到
+        assertTrue(sameMillisecond > 0);
+    }
+
+    @Test
+    void idsCarryVersionAndVariantBits() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UuidV7Generator.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+    }
+
+    @Test
+    void timestampIsTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        long millis = UuidV7Generator.timestampOf(UuidV7Generator.next());
+        long after = System.currentTimeMillis();
+        // 同一毫秒内计数器用完时时间戳会借用下一毫秒，紧接着大量生成之后可能略微超前
+        assertTrue(millis >= before && millis <= after + 100, millis + " not in [" + before + ", " + after + "]");
+    }
+}
@@ -0,0 +1,168 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.domain.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.Away.blog.repositories.PlanTestDatabase.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 热点查询的执行计划：调用仓库方法，截获 Hibernate 实际生成的 SQL 再执行 EXPLAIN，
+ * 确认它们命中 V3__hot_query_indexes.sql 中的索引而不是全表扫描。删掉或改坏索引、改了查询写法时这里会失败。
+ * SQL 由 StatementInspector 截获，EXPLAIN 时按原顺序绑定同样的参数；数据集见 PlanTestDatabase。
+ * H2 会为每个外键单独建索引（MySQL 在有同前缀的复合索引时会复用后者），所以同前缀的外键索引也视为命中。
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-query-plans;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.Away.blog.repositories.HotQueryPlanTests$CapturingInspector"
+})
+class HotQueryPlanTests {
+
+    private static final int PAGE = 50;
+
+    private static boolean seeded;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() throws SQLException {
+        if (!seeded) {
+            PlanTestDatabase.seed(dataSource);
+            seeded = true;
+        }
+    }
+
+    @Test
+    void publishedPostsByDateUseStatusIndex() throws SQLException {
+        CapturingInspector.clear();
+        postRepository.findAllByStatusOrderByCreatedAtDesc(PostStatus.PUBLISHED);
+        assertUsesIndex(new Object[]{"PUBLISHED"}, "IDX_POSTS_STATUS_CREATED");
+    }
+
+    @Test
+    void publishedSummariesUseStatusIndex() throws SQLException {
+        CapturingInspector.clear();
+        postRepository.findSummariesByStatus(PostStatus.PUBLISHED, PageRequest.of(0, PAGE));
+        assertUsesIndex(new Object[]{"PUBLISHED", 0, PAGE}, "IDX_POSTS_STATUS_CREATED");
+    }
+
+    @Test
+    void publishedPostsByCategoryUseCategoryIndex() throws SQLException {
+        Category category = categoryRepository.findById(uuid(CATEGORY_TABLE, 5)).orElseThrow();
+        CapturingInspector.clear();
+        postRepository.findAllByStatusAndCategoryOrderByCreatedAtDesc(PostStatus.PUBLISHED, category);
+        assertUsesIndex(new Object[]{"PUBLISHED", id(CATEGORY_TABLE, 5)}, "IDX_POSTS_CATEGORY_STATUS_CREATED");
+    }
+
+    @Test
+    void publishedSummariesByCategoryUseCategoryIndex() throws SQLException {
+        CapturingInspector.clear();
+        postRepository.findSummariesByStatusAndCategoryId(PostStatus.PUBLISHED, uuid(CATEGORY_TABLE, 5),
+                PageRequest.of(0, PAGE));
+        assertUsesIndex(new Object[]{"PUBLISHED", id(CATEGORY_TABLE, 5), 0, PAGE}, "IDX_POSTS_CATEGORY_STATUS_CREATED");
+    }
+
+    @Test
+    void draftsByAuthorUseAuthorIndex() throws SQLException {
+        User author = userRepository.findById(uuid(USER_TABLE, 3)).orElseThrow();
+        CapturingInspector.clear();
+        postRepository.findDraftsByAuthorAndStatusOrderByCreatedAtDesc(author, PostStatus.DRAFT);
+        assertUsesIndex(new Object[]{id(USER_TABLE, 3), "DRAFT"}, "IDX_POSTS_AUTHOR_STATUS_CREATED");
+    }
+
+    @Test
+    void sitemapKeysetScanUsesCoveringIndex() throws SQLException {
+        CapturingInspector.clear();
+        postRepository.findSitemapEntriesAfter(PostStatus.PUBLISHED, uuid(POST_TABLE, 42), PageRequest.of(0, PAGE));
+        assertUsesIndex(new Object[]{"PUBLISHED", id(POST_TABLE, 42), 0, PAGE}, "IDX_POSTS_STATUS_ID_UPDATED");
+    }
+
+    // 只要求没有全表扫描：H2 可能从 posts 的 status 索引出发，也可能从 post_tags 的反向索引出发
+    @Test
+    void postsByTagAvoidFullScan() throws SQLException {
+        Tag tag = tagRepository.findById(uuid(TAG_TABLE, 7)).orElseThrow();
+        CapturingInspector.clear();
+        postRepository.findAllByStatusAndTagsContainingOrderByCreatedAtDesc(PostStatus.PUBLISHED, tag);
+        assertUsesIndex(new Object[]{"PUBLISHED", id(TAG_TABLE, 7)});
+    }
+
+    @Test
+    void commentsByPostUsePostIndex() throws SQLException {
+        Post post = postRepository.findById(uuid(POST_TABLE, 42)).orElseThrow();
+        CapturingInspector.clear();
+        commentRepository.findAllByPostOrderByCreatedAtAsc(post);
+        assertUsesIndex(new Object[]{id(POST_TABLE, 42)}, "IDX_COMMENTS_POST_CREATED", "FK_COMMENTS_POST");
+    }
+
+    @Test
+    void userByEmailUsesUniqueIndex() throws SQLException {
+        CapturingInspector.clear();
+        userRepository.findByEmail("user3@example.com");
+        assertUsesIndex(new Object[]{"user3@example.com"}, "UK_USER_EMAIL");
+    }
+
+    // 对截获的第一条 SQL 做 EXPLAIN，参数（分页为 offset、limit）与执行时一致；不给出索引名时只要求没有全表扫描
+    private void assertUsesIndex(Object[] parameters, String... indexes) throws SQLException {
+        assertFalse(CapturingInspector.statements.isEmpty(), "no SQL captured");
+        String sql = CapturingInspector.statements.get(0);
+        assertEquals(sql.chars().filter(c -> c == '?').count(), parameters.length, () -> "parameters for: " + sql);
+        String plan = explain(dataSource, sql, parameters);
+        assertFalse(plan.contains("tableScan"), () -> "Full table scan for: " + sql + "\n" + plan);
+        if (indexes.length > 0) {
+            assertTrue(Arrays.stream(indexes).anyMatch(plan.toUpperCase()::contains),
+                    () -> "Expected one of " + Arrays.toString(indexes) + " for: " + sql + "\n" + plan);
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            statements.clear();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.DomainEventType;
+import com.Away.blog.domain.OutboxStatus;
+import com.Away.blog.domain.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 发件箱的投递查询：还在退避的事件连同同一 aggregate 后面的事件都不返回，
+ * 其他 aggregate 的事件不受影响，可以按 id 翻页越过它们。
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OutboxEventRepositoryTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void backingOffAggregatesDoNotHideOthers() {
+        UUID blocked = UUID.randomUUID();
+        UUID ready = UUID.randomUUID();
+        UUID retried = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            save(blocked, NOW.plusMinutes(10));
+        }
+        save(blocked, null);
+        long first = save(ready, null);
+        long second = save(retried, NOW.minusSeconds(1));
+        long third = save(ready, null);
+
+        assertEquals(List.of(first, second, third), deliverable(0, 10));
+        // 第一页全是可以投递的事件，翻页从最后一条之后继续
+        assertEquals(List.of(first, second), deliverable(0, 2));
+        assertEquals(List.of(third), deliverable(second, 2));
+    }
+
+    @Test
+    void eventsAfterAnExpiredBackoffAreDeliverable() {
+        UUID aggregate = UUID.randomUUID();
+        long first = save(aggregate, NOW.minusMinutes(1));
+        long second = save(aggregate, null);
+
+        assertEquals(List.of(first, second), deliverable(0, 10));
+    }
+
+    private List<Long> deliverable(long afterId, int size) {
+        return outboxEventRepository.findDeliverable(OutboxStatus.PENDING, afterId, NOW, PageRequest.of(0, size))
+                .stream().map(OutboxEvent::getId).toList();
+    }
+
+    private long save(UUID aggregateId, LocalDateTime nextAttemptAt) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(aggregateId)
+                .eventType(DomainEventType.POST_UPDATED)
+                .payload("{}")
+                .status(OutboxStatus.PENDING)
+                .attempts(nextAttemptAt == null ? 0 : 1)
+                .nextAttemptAt(nextAttemptAt)
+                .createdAt(NOW)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,129 @@
+package com.Away.blog.repositories;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 执行计划测试共用的数据集：写入一批分布接近真实数据的行并 ANALYZE，让优化器按选择性而不是空表代价选索引。
+ * 表结构来自 Flyway 迁移脚本。
+ */
+final class PlanTestDatabase {
+
+    static final int USERS = 20;
+    static final int CATEGORIES = 10;
+    static final int TAGS = 50;
+    static final int POSTS = 2_000;
+
+    static final int USER_TABLE = 1;
+    static final int CATEGORY_TABLE = 2;
+    static final int TAG_TABLE = 3;
+    static final int POST_TABLE = 4;
+    static final int COMMENT_TABLE = 5;
+
+    static final LocalDateTime FIRST_POST_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private PlanTestDatabase() {
+    }
+
+    static void seed(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            insertRows(connection, "INSERT INTO user (id, name, email, password, role, created_at) " +
+                    "VALUES (?, ?, ?, 'x', 'USER', CURRENT_DATE)", USERS, (insert, i) -> {
+                insert.setBytes(1, id(USER_TABLE, i));
+                insert.setString(2, "user" + i);
+                insert.setString(3, "user" + i + "@example.com");
+            });
+            insertRows(connection, "INSERT INTO categorys (id, name) VALUES (?, ?)", CATEGORIES, (insert, i) -> {
+                insert.setBytes(1, id(CATEGORY_TABLE, i));
+                insert.setString(2, "category" + i);
+            });
+            insertRows(connection, "INSERT INTO tags (id, name, name_key) VALUES (?, ?, ?)", TAGS, (insert, i) -> {
+                insert.setBytes(1, id(TAG_TABLE, i));
+                insert.setString(2, "tag" + i);
+                insert.setString(3, "tag" + i);
+            });
+            insertRows(connection, "INSERT INTO posts (id, title, content, status, reading_time, comment_count, " +
+                    "created_at, updated_at, author_id, category_id) VALUES (?, ?, 'content', ?, ?, ?, ?, ?, ?, ?)",
+                    POSTS, (insert, i) -> {
+                Timestamp createdAt = Timestamp.valueOf(FIRST_POST_AT.plusHours(i));
+                insert.setBytes(1, id(POST_TABLE, i));
+                insert.setString(2, "post" + i);
+                insert.setString(3, i % 10 == 0 ? "DRAFT" : "PUBLISHED");
+                insert.setInt(4, 1 + i * 7 % 30);
+                insert.setInt(5, i * 13 % 50);
+                insert.setTimestamp(6, createdAt);
+                insert.setTimestamp(7, createdAt);
+                insert.setBytes(8, id(USER_TABLE, i % USERS));
+                insert.setBytes(9, id(CATEGORY_TABLE, i % CATEGORIES));
+            });
+            insertRows(connection, "INSERT INTO post_tags (post_id, tag_id) VALUES (?, ?)", POSTS * 3, (insert, i) -> {
+                insert.setBytes(1, id(POST_TABLE, i / 3));
+                insert.setBytes(2, id(TAG_TABLE, (i / 3 + i % 3 * 7) % TAGS));
+            });
+            insertRows(connection, "INSERT INTO comments (id, content, created_at, author_id, post_id) " +
+                    "VALUES (?, 'comment', CURRENT_TIMESTAMP, ?, ?)", POSTS * 2, (insert, i) -> {
+                insert.setBytes(1, id(COMMENT_TABLE, i));
+                insert.setBytes(2, id(USER_TABLE, i % USERS));
+                insert.setBytes(3, id(POST_TABLE, i % POSTS));
+            });
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            connection.commit();
+        }
+    }
+
+    // 参数按 SQL 中 ? 的顺序绑定，与 Hibernate 执行时一致
+    static String explain(DataSource dataSource, String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (result.next()) {
+                    plan.append(result.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    // 与 UUIDv7 布局一致：高位是表前缀，低位是序号，保证各表 id 互不重复且有序
+    static byte[] id(int table, int sequence) {
+        return ByteBuffer.allocate(16)
+                .putLong(0x0190f5a000007000L | (long) table << 20)
+                .putLong(0x8000000000000000L | sequence)
+                .array();
+    }
+
+    static UUID uuid(int table, int sequence) {
+        ByteBuffer buffer = ByteBuffer.wrap(id(table, sequence));
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void insertRows(Connection connection, String sql, int count, RowWriter writer) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(insert, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement insert, int row) throws SQLException;
+    }
+}
@@ -0,0 +1,176 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.PostCursor;
+import com.Away.blog.domain.PostQuery;
+import com.Away.blog.domain.PostSort;
+import com.Away.blog.domain.PostSummary;
+import com.Away.blog.domain.TagMatch;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static com.Away.blog.repositories.PlanTestDatabase.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 组合查询的执行计划稳定性：对 PostQueryRepository 为各种条件组合实际生成的 SQL 执行 EXPLAIN，
+ * 确认 posts 始终经由索引访问，加条件、翻页都不会退化成全表扫描。
+ * SQL 由 StatementInspector 截获，条件值以字面量内联，可以直接 EXPLAIN；数据集见 PlanTestDatabase。
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-query-plans;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.Away.blog.repositories.PostQueryPlanTests$CapturingInspector",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+class PostQueryPlanTests {
+
+    private static final int PAGE = 20;
+
+    private static boolean seeded;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() throws SQLException {
+        if (!seeded) {
+            PlanTestDatabase.seed(dataSource);
+            seeded = true;
+        }
+    }
+
+    @Test
+    void newestFirstUsesStatusDateIndex() throws SQLException {
+        assertPlan(PostQuery.builder().build(), "IDX_POSTS_STATUS_CREATED");
+    }
+
+    @Test
+    void authorUsesAuthorIndex() throws SQLException {
+        assertPlan(PostQuery.builder().authorId(uuid(USER_TABLE, 3)).build(), "IDX_POSTS_AUTHOR_STATUS_CREATED");
+    }
+
+    @Test
+    void categoriesUseCategoryOrDateIndex() throws SQLException {
+        assertPlan(PostQuery.builder().categoryIds(Set.of(uuid(CATEGORY_TABLE, 1), uuid(CATEGORY_TABLE, 2))).build(),
+                "IDX_POSTS_CATEGORY_STATUS_CREATED", "IDX_POSTS_STATUS_CREATED");
+    }
+
+    @Test
+    void dateRangeUsesStatusDateIndex() throws SQLException {
+        assertPlan(PostQuery.builder()
+                        .createdFrom(FIRST_POST_AT.plusDays(10))
+                        .createdTo(FIRST_POST_AT.plusDays(40))
+                        .build(),
+                "IDX_POSTS_STATUS_CREATED");
+    }
+
+    // H2 在等值前缀相同的索引间选择时不考虑 ORDER BY，首页可能走 status + created_at 索引；
+    // 翻页后 comment_count 上有了范围条件，应当换到对应的索引上（MySQL 首页即会按 ORDER BY ... LIMIT 选它）
+    @Test
+    void popularityPagesUseCommentCountIndex() throws SQLException {
+        PostQuery query = PostQuery.builder().sort(PostSort.POPULARITY).build();
+        List<PostSummary> first = postRepository.findSummaries(query, null, PAGE);
+        assertPlan(query, PostCursor.after(PostSort.POPULARITY, Sort.Direction.DESC, first.get(PAGE - 1)),
+                "IDX_POSTS_STATUS_COMMENT_COUNT");
+    }
+
+    @Test
+    void readingTimeBoundsUseReadingTimeIndex() throws SQLException {
+        assertPlan(PostQuery.builder()
+                        .sort(PostSort.READING_TIME)
+                        .direction(Sort.Direction.ASC)
+                        .minReadingTime(5)
+                        .maxReadingTime(12)
+                        .build(),
+                "IDX_POSTS_STATUS_READING_TIME");
+    }
+
+    @Test
+    void anyTagDoesNotScanPosts() throws SQLException {
+        assertPlan(PostQuery.builder().tagIds(Set.of(uuid(TAG_TABLE, 7), uuid(TAG_TABLE, 8))).build());
+    }
+
+    @Test
+    void allTagsWithCategoryDoesNotScanPosts() throws SQLException {
+        assertPlan(PostQuery.builder()
+                .tagIds(Set.of(uuid(TAG_TABLE, 7), uuid(TAG_TABLE, 14)))
+                .tagMatch(TagMatch.ALL)
+                .categoryIds(Set.of(uuid(CATEGORY_TABLE, 7)))
+                .build());
+    }
+
+    @Test
+    void cursorPagesDoNotOverlapOrScan() throws SQLException {
+        for (PostSort sort : PostSort.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                PostQuery query = PostQuery.builder().sort(sort).direction(direction).build();
+                List<PostSummary> first = postRepository.findSummaries(query, null, PAGE);
+                PostCursor after = PostCursor.after(sort, direction, first.get(PAGE - 1));
+                List<PostSummary> second = postRepository.findSummaries(query, after, PAGE);
+                assertFalse(second.isEmpty(), "second page of " + sort + " " + direction);
+                assertFalse(first.stream().map(PostSummary::getId).anyMatch(second.get(0).getId()::equals),
+                        "pages overlap for " + sort + " " + direction);
+                assertPlan(query, after);
+            }
+        }
+    }
+
+    // 执行查询确认 SQL 有效，再对截获的 SQL 做 EXPLAIN；不给出索引名时只要求 posts 不做全表扫描
+    private void assertPlan(PostQuery query, String... indexes) throws SQLException {
+        assertPlan(query, null, indexes);
+    }
+
+    private void assertPlan(PostQuery query, PostCursor after, String... indexes) throws SQLException {
+        postRepository.findSummaries(query, after, PAGE);
+        String sql = capturedSql();
+        String plan = explain(dataSource, sql);
+        String access = postsAccess(plan);
+        assertFalse(access.contains("tableScan"), () -> "Full scan of posts for: " + sql + "\n" + plan);
+        if (indexes.length > 0) {
+            assertTrue(Arrays.stream(indexes).anyMatch(access.toUpperCase()::contains),
+                    () -> "Expected one of " + Arrays.toString(indexes) + " for: " + sql + "\n" + plan);
+        }
+    }
+
+    // 计划里 posts 表的访问方式，即表名后的第一段注释：/* PUBLIC.IDX_...: STATUS = ... */
+    private static String postsAccess(String plan) {
+        int table = plan.indexOf("\"PUBLIC\".\"POSTS\"");
+        assertTrue(table >= 0, () -> "posts not found in plan:\n" + plan);
+        int start = plan.indexOf("/*", table);
+        int end = plan.indexOf("*/", start);
+        return plan.substring(start, end);
+    }
+
+    // LIMIT 是唯一没有内联的参数
+    private static String capturedSql() {
+        return CapturingInspector.last.replace("fetch first ? rows only", "fetch first " + PAGE + " rows only");
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static volatile String last;
+
+        @Override
+        public String inspect(String sql) {
+            last = sql;
+            return sql;
+        }
+    }
+}
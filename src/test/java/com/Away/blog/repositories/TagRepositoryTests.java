@@ -0,0 +1,67 @@
+package com.Away.blog.repositories;
+
+import com.Away.blog.domain.entity.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 批量 upsert 标签：重复名、大小写不同的名字和已存在的标签都只保留一行。
+ * H2 的唯一约束区分大小写，这里验证的是 name_key 而不是 MySQL 的 _ci 排序规则。
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TagRepositoryTests {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void duplicateNamesInsertOneRowEach() {
+        assertEquals(2, tagRepository.insertIgnoringExisting(List.of("spring", "jpa", "spring")));
+        assertEquals(Map.of("spring", "spring", "jpa", "jpa"), namesByKey("spring", "jpa"));
+    }
+
+    @Test
+    void mixedCaseKeepsFirstSpelling() {
+        assertEquals(1, tagRepository.insertIgnoringExisting(List.of("GraphQL", "graphql", "GRAPHQL")));
+        assertEquals(Map.of("graphql", "GraphQL"), namesByKey("graphql"));
+    }
+
+    // name_key 按字节比较：只有大小写之差的名字合并，重音不同的是两个标签
+    @Test
+    void accentedNamesAreDistinctTags() {
+        assertEquals(2, tagRepository.insertIgnoringExisting(List.of("cafe", "Café", "CAFE")));
+        assertEquals(Map.of("cafe", "cafe", "café", "Café"), namesByKey("cafe", "café"));
+    }
+
+    @Test
+    void existingTagsAreLeftUnchanged() {
+        UUID javaId = tagRepository.saveAndFlush(Tag.builder().name("Java").build()).getId();
+
+        tagRepository.insertIgnoringExisting(List.of("java", "JAVA", "Kotlin"));
+
+        List<Tag> tags = tagRepository.findByNameKeyIn(List.of("java", "kotlin"));
+        assertEquals(Map.of("java", "Java", "kotlin", "Kotlin"),
+                tags.stream().collect(Collectors.toMap(Tag::getNameKey, Tag::getName)));
+        assertEquals(javaId, tags.stream().filter(tag -> tag.getNameKey().equals("java")).findFirst().orElseThrow().getId());
+    }
+
+    @Test
+    void emptyNamesInsertNothing() {
+        assertEquals(0, tagRepository.insertIgnoringExisting(List.of()));
+    }
+
+    private Map<String, String> namesByKey(String... keys) {
+        return tagRepository.findByNameKeyIn(List.of(keys)).stream()
+                .collect(Collectors.toMap(Tag::getNameKey, Tag::getName));
+    }
+}
@@ -0,0 +1,111 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.ContentFormat;
+import com.Away.blog.domain.PostContent;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.Role;
+import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.User;
+import com.Away.blog.repositories.CategoryRepository;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 旧版本留下的明文 content 列被分批迁移到 content_data：迁移后 content 为空，正文不变，长正文被压缩。
+ * 批大小设为 2，三篇文章需要跨批。
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "blog.content.migration-batch-size=2")
+class PostContentMigrationTests {
+
+    @Autowired
+    private PostContentMigrationService postContentMigrationService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void legacyContentMovesToContentData() {
+        User author = userRepository.save(User.builder()
+                .email("migrate-" + UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .name("migrator")
+                .role(Role.USER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("migrate-" + UUID.randomUUID()).build());
+        Map<UUID, String> contents = new LinkedHashMap<>();
+        for (String text : new String[]{"<p>short</p>", "<p>中文正文</p>", "<p>" + "long legacy body ".repeat(200) + "</p>"}) {
+            contents.put(legacyPost(author, category, text), text);
+        }
+        entityManager.clear();
+
+        assertEquals(contents.size(), postContentMigrationService.migrateLegacyContent());
+        entityManager.flush();
+        entityManager.clear();
+
+        contents.forEach((id, text) -> {
+            Post post = postRepository.findById(id).orElseThrow();
+            assertNull(post.getLegacyContent());
+            assertEquals(text, post.getContent());
+        });
+        assertTrue(postRepository.findIdsWithLegacyContent(Pageable.unpaged()).isEmpty());
+        UUID longest = contents.keySet().stream().reduce((first, second) -> second).orElseThrow();
+        assertTrue(storedContent(longest).isCompressed());
+        assertFalse(storedContent(contents.keySet().iterator().next()).isCompressed());
+
+        // 再次运行没有可迁移的文章
+        assertEquals(0, postContentMigrationService.migrateLegacyContent());
+    }
+
+    // 按旧版本的形式写入：只有 content 列，content_data 为空
+    private UUID legacyPost(User author, Category category, String text) {
+        Post post = postRepository.save(Post.builder()
+                .title("legacy")
+                .content(PostContent.of(text))
+                .format(ContentFormat.HTML)
+                .status(PostStatus.PUBLISHED)
+                .readingTime(1)
+                .author(author)
+                .category(category)
+                .build());
+        entityManager.flush();
+        entityManager.createQuery("UPDATE Post p SET p.legacyContent = :text, p.content = null WHERE p.id = :id")
+                .setParameter("text", text)
+                .setParameter("id", post.getId())
+                .executeUpdate();
+        return post.getId();
+    }
+
+    private PostContent storedContent(UUID id) {
+        return entityManager.createQuery("SELECT p.content FROM Post p WHERE p.id = :id", PostContent.class)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+}
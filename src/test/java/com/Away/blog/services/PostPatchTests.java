@@ -0,0 +1,157 @@
+package com.Away.blog.services;
+
+import com.Away.blog.domain.CreatePostRequest;
+import com.Away.blog.domain.PatchPostRequest;
+import com.Away.blog.domain.PostRevisionSummary;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.Role;
+import com.Away.blog.domain.entity.Category;
+import com.Away.blog.domain.entity.Post;
+import com.Away.blog.domain.entity.PostRevision;
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.domain.entity.User;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.domain.events.PostRenderRequestedEvent;
+import com.Away.blog.repositories.CategoryRepository;
+import com.Away.blog.repositories.PostRepository;
+import com.Away.blog.repositories.TagRepository;
+import com.Away.blog.repositories.UserRepository;
+import com.Away.blog.security.BlogUserDetails;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 只带 title 的 PATCH 只改标题：正文、状态、标签、渲染结果都保持原样，不触发重新渲染，
+ * 新增的那一个版本记录的正文与修改前相同。
+ */
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class PostPatchTests {
+
+    private static final String CONTENT = "<h2>Intro</h2><p>Original content that must survive a title-only patch.</p>";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRevisionService postRevisionService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @SpyBean
+    private PostRenderService postRenderService;
+
+    private User author;
+    private Category category;
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("patch-" + UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .name("patcher")
+                .role(Role.USER)
+                .build());
+        category = categoryRepository.save(Category.builder().name("patch-" + UUID.randomUUID()).build());
+        tag = tagRepository.save(Tag.builder().name("patch-" + UUID.randomUUID()).build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(new BlogUserDetails(author), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void titleOnlyPatchChangesOnlyTheTitle() throws Exception {
+        CreatePostRequest create = CreatePostRequest.builder()
+                .title("Original title")
+                .content(CONTENT)
+                .categoryId(category.getId())
+                .tagIds(Set.of(tag.getId()))
+                .status(PostStatus.PUBLISHED)
+                .build();
+        UUID postId = postService.createPost(author, create).getId();
+        entityManager.flush();
+        entityManager.clear();
+        Post before = postRepository.findById(postId).orElseThrow();
+        String renderedHtml = before.getRenderedHtml();
+        String excerpt = before.getExcerpt();
+        Integer readingTime = before.getReadingTime();
+        int revisionsBefore = postRevisionService.listRevisions(postId, author.getId()).size();
+        entityManager.clear();
+        clearInvocations(postRenderService);
+        events.clear();
+
+        postService.patchPost(postId, PatchPostRequest.builder().title("New title").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Post after = postRepository.findById(postId).orElseThrow();
+        assertEquals("New title", after.getTitle());
+        assertEquals(CONTENT, after.getContent());
+        assertEquals(PostStatus.PUBLISHED, after.getStatus());
+        assertEquals(category.getId(), after.getCategory().getId());
+        assertEquals(Set.of(tag.getId()), after.getTags().stream().map(Tag::getId).collect(Collectors.toSet()));
+        assertEquals(renderedHtml, after.getRenderedHtml());
+        assertEquals(excerpt, after.getExcerpt());
+        assertEquals(readingTime, after.getReadingTime());
+
+        verify(postRenderService, never()).render(any());
+        assertEquals(0, events.stream(PostRenderRequestedEvent.class).count());
+        List<PostChangedEvent> changes = events.stream(PostChangedEvent.class).toList();
+        assertEquals(1, changes.size());
+        assertFalse(changes.get(0).isTagsChanged());
+        assertFalse(changes.get(0).isStatusChanged());
+        assertFalse(changes.get(0).isCategoryChanged());
+
+        // 标题变化记一个新版本，正文与修改前一致
+        List<PostRevisionSummary> revisions = postRevisionService.listRevisions(postId, author.getId());
+        assertEquals(revisionsBefore + 1, revisions.size());
+        int latest = revisions.stream().mapToInt(PostRevisionSummary::getRevision).max().orElseThrow();
+        PostRevision revision = postRevisionService.getRevision(postId, latest, author.getId());
+        assertEquals("New title", revision.getTitle());
+        assertEquals(CONTENT, postRevisionService.reconstructContent(revision));
+    }
+}
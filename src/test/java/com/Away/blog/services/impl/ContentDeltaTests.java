@@ -0,0 +1,78 @@
+package com.Away.blog.services.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 差量编码的往返：任意基准和目标，apply(base, encode(base, target)) 都必须还原出 target。
+ */
+class ContentDeltaTests {
+
+    private static final String ARTICLE = "<h2>简介</h2><p>这是一篇用来测试差量编码的文章，内容足够长，可以形成多个完整的块。</p>"
+            + "<p>The quick brown fox jumps over the lazy dog. 🦊🐶 Ünïcödé çharacters mixed in.</p>".repeat(20);
+
+    @Test
+    void emptyBaseAndTarget() {
+        assertRoundTrip("", "");
+    }
+
+    @Test
+    void emptyBase() {
+        assertRoundTrip("", ARTICLE);
+    }
+
+    @Test
+    void emptyTarget() {
+        assertRoundTrip(ARTICLE, "");
+    }
+
+    @Test
+    void identicalContentIsMostlyCopies() {
+        byte[] content = bytes(ARTICLE);
+        byte[] delta = assertRoundTrip(ARTICLE, ARTICLE);
+        assertTrue(delta.length < content.length / 10, "delta of identical content should be tiny: " + delta.length);
+    }
+
+    @Test
+    void localEdit() {
+        assertRoundTrip(ARTICLE, ARTICLE.replace("lazy dog", "sleepy cat").replace("简介", "概述"));
+    }
+
+    @Test
+    void fullRewrite() {
+        Random random = new Random(42);
+        byte[] base = new byte[4096];
+        byte[] target = new byte[5000];
+        random.nextBytes(base);
+        random.nextBytes(target);
+        assertArrayEquals(target, ContentDelta.apply(base, ContentDelta.encode(base, target)));
+    }
+
+    @Test
+    void multibyteCharactersSplitAcrossBlocks() {
+        // 4 字节的 emoji 和 3 字节的汉字会跨过 16 字节的块边界，差量按字节处理也必须原样还原
+        String base = "汉字🙂".repeat(200);
+        String target = "汉字🙂".repeat(100) + "插入的文字😀" + "汉字🙂".repeat(99) + "汉";
+        assertRoundTrip(base, target);
+    }
+
+    @Test
+    void shorterThanOneBlock() {
+        assertRoundTrip("短", "短文");
+    }
+
+    private static byte[] assertRoundTrip(String base, String target) {
+        byte[] delta = ContentDelta.encode(bytes(base), bytes(target));
+        assertArrayEquals(bytes(target), ContentDelta.apply(bytes(base), delta));
+        return delta;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,204 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.OutboxStatus;
+import com.Away.blog.domain.PostStatus;
+import com.Away.blog.domain.entity.OutboxEvent;
+import com.Away.blog.domain.events.DomainEvent;
+import com.Away.blog.domain.events.PostChangedEvent;
+import com.Away.blog.repositories.OutboxEventRepository;
+import com.Away.blog.services.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 发件箱的投递：提交后唤醒投递线程；监听器失败时按指数退避重试并封顶，重试期间同一篇文章后面的事件等着，
+ * 达到最大次数后进入 FAILED，后面的事件才继续投递。
+ * 用单独的内存库，其他测试上下文的投递线程会轮询共享的 testdb，可能抢走这里的事件；
+ * 轮询间隔设为一小时，除了提交后的唤醒，投递都由 dispatchPending 触发。
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "blog.outbox.poll-interval-ms=3600000",
+        "blog.outbox.max-attempts=5",
+        "blog.outbox.retry-backoff=PT1S",
+        "blog.outbox.max-retry-backoff=PT3S"
+})
+class OutboxServiceImplTests {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @AfterEach
+    void reset() {
+        listener.failing.clear();
+    }
+
+    @Test
+    void committedEventsAreDeliveredWithoutPolling() throws InterruptedException {
+        UUID postId = UUID.randomUUID();
+        publish(postId);
+
+        await(() -> !listener.deliveredTo(postId).isEmpty());
+        assertEquals(1, listener.deliveredTo(postId).get(0).getAttempt());
+        await(() -> events(postId).get(0).getStatus() == OutboxStatus.DISPATCHED);
+    }
+
+    @Test
+    void failingEventBacksOffAndHoldsBackItsPost() {
+        UUID failing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        listener.failing.add(failing);
+
+        LocalDateTime start = LocalDateTime.now();
+        publish(failing, failing, other);
+        // 排在提交后唤醒的那一轮之后，返回时第一次投递已经失败
+        outboxService.dispatchPending();
+        assertBackedOff(failing, 1, Duration.ofSeconds(1), start, LocalDateTime.now());
+        assertEquals(OutboxStatus.DISPATCHED, events(other).get(0).getStatus());
+        assertEquals(1, listener.deliveredTo(other).size());
+
+        // 还在退避，不重试，后面的事件也不投递
+        outboxService.dispatchPending();
+        assertEquals(1, events(failing).get(0).getAttempts());
+        assertTrue(listener.deliveredTo(failing).isEmpty());
+
+        // 退避时间翻倍，在 max-retry-backoff 封顶
+        for (Duration backoff : List.of(Duration.ofSeconds(2), Duration.ofSeconds(3), Duration.ofSeconds(3))) {
+            int attempt = events(failing).get(0).getAttempts() + 1;
+            expireBackoff(failing);
+            start = LocalDateTime.now();
+            outboxService.dispatchPending();
+            assertBackedOff(failing, attempt, backoff, start, LocalDateTime.now());
+        }
+
+        expireBackoff(failing);
+        outboxService.dispatchPending();
+        OutboxEvent gaveUp = events(failing).get(0);
+        assertEquals(OutboxStatus.FAILED, gaveUp.getStatus());
+        assertEquals(5, gaveUp.getAttempts());
+
+        // 放弃的事件不再投递，后面的事件照常送达
+        listener.failing.clear();
+        assertEquals(1, outboxService.dispatchPending());
+        List<DomainEvent<PostChangedEvent>> delivered = listener.deliveredTo(failing);
+        assertEquals(1, delivered.size());
+        assertEquals(events(failing).get(1).getId(), delivered.get(0).getId());
+        assertEquals(1, delivered.get(0).getAttempt());
+        assertEquals(OutboxStatus.FAILED, events(failing).get(0).getStatus());
+        assertEquals(OutboxStatus.DISPATCHED, events(failing).get(1).getStatus());
+    }
+
+    private void assertBackedOff(UUID postId, int attempts, Duration backoff, LocalDateTime start, LocalDateTime end) {
+        List<OutboxEvent> events = events(postId);
+        OutboxEvent failed = events.get(0);
+        assertEquals(OutboxStatus.PENDING, failed.getStatus());
+        assertEquals(attempts, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("listener failed"));
+        assertFalse(failed.getNextAttemptAt().isBefore(start.plus(backoff).truncatedTo(ChronoUnit.MILLIS)));
+        assertFalse(failed.getNextAttemptAt().isAfter(end.plus(backoff)));
+        // 同一篇文章后面的事件一次都没有投递
+        OutboxEvent next = events.get(1);
+        assertEquals(OutboxStatus.PENDING, next.getStatus());
+        assertEquals(0, next.getAttempts());
+        assertTrue(listener.deliveredTo(postId).isEmpty());
+    }
+
+    private void publish(UUID... postIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UUID postId : postIds) {
+                eventPublisher.publishEvent(PostChangedEvent.builder()
+                        .postId(postId)
+                        .type(PostChangedEvent.Type.UPDATED)
+                        .previousStatus(PostStatus.DRAFT)
+                        .status(PostStatus.DRAFT)
+                        .build());
+            }
+        });
+    }
+
+    private void expireBackoff(UUID postId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            OutboxEvent event = events(postId).get(0);
+            event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            outboxEventRepository.save(event);
+        });
+    }
+
+    private List<OutboxEvent> events(UUID postId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(postId))
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for outbox delivery");
+            Thread.sleep(20);
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+
+        final Set<UUID> failing = ConcurrentHashMap.newKeySet();
+        private final List<DomainEvent<PostChangedEvent>> delivered = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void on(DomainEvent<PostChangedEvent> event) {
+            if (failing.contains(event.getAggregateId())) {
+                throw new IllegalStateException("listener failed");
+            }
+            delivered.add(event);
+        }
+
+        List<DomainEvent<PostChangedEvent>> deliveredTo(UUID postId) {
+            return delivered.stream().filter(event -> event.getAggregateId().equals(postId)).toList();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.Away.blog.services.impl;
+
+import com.Away.blog.domain.entity.Tag;
+import com.Away.blog.repositories.TagRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * createTags 插入后按 name_key 取回全部标签，少了任何一个都报错而不是悄悄丢掉。
+ */
+class TagServiceImplTests {
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final TagServiceImpl tagService = new TagServiceImpl(tagRepository);
+
+    @Test
+    void returnsEveryRequestedTag() {
+        List<Tag> tags = List.of(tag("Java"), tag("Kotlin"));
+        when(tagRepository.findByNameKeyIn(List.of("java", "kotlin"))).thenReturn(tags);
+
+        assertEquals(tags, tagService.createTags(new LinkedHashSet<>(List.of(" Java ", "Kotlin", "JAVA"))));
+    }
+
+    @Test
+    void missingTagAfterInsertFails() {
+        when(tagRepository.insertIgnoringExisting(anyCollection())).thenReturn(1);
+        when(tagRepository.findByNameKeyIn(any())).thenReturn(List.of(tag("cafe")));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> tagService.createTags(new LinkedHashSet<>(List.of("cafe", "Café"))));
+        assertTrue(e.getMessage().contains("Café"), e.getMessage());
+    }
+
+    private static Tag tag(String name) {
+        return Tag.builder().name(name).nameKey(Tag.nameKey(name)).build();
+    }
+}